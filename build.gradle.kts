@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -11,6 +12,14 @@ configurations {
     }
 }
 
+// load generator (src/loadtest/java, ./gradlew loadTest)
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 allprojects {
     group = property("app.group").toString()
 }
@@ -27,6 +36,7 @@ dependencies {
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    "loadtestImplementation"(libs.hdrhistogram)
 }
 
 // about source and compilation
@@ -38,6 +48,40 @@ with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
 
+// benchmark tasks (src/jmh/java, ./gradlew jmh)
+jmh {
+    // 요청당 할당량(gc.alloc.rate.norm) 비교를 위해 GC 프로파일러를 항상 사용
+    profilers.add("gc")
+    includes.addAll(providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(emptyList()))
+}
+
+// 애플리케이션을 별도 JVM 으로 띄우고 고정 도착률 부하를 건 뒤 build/loadtest 에 JSON 결과를 남김
+// 설정은 -Ploadtest.<key>=<value> 로 전달 (예: -Ploadtest.rate=2000, 기본은 원본 테이블이며 -Ploadtest.profile=zero 등은 합성 테이블)
+// 아래 jvmArgs 는 부하 생성기 JVM 옵션, 애플리케이션 JVM 옵션은 -Ploadtest.server-jvm-args 로 전달
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the open-model load generator against TddApplication started in a separate JVM."
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("io.hhplus.tdd.loadtest.PointLoadTest")
+    systemProperty("loadtest.output-dir", layout.buildDirectory.dir("loadtest").get().asFile.absolutePath)
+    systemProperties(providers.gradlePropertiesPrefixedBy("loadtest.").get())
+    jvmArgs("-Xmx2g")
+}
+
+// 같은 가중치로 동기 API(/point) 와 비동기 API(/async/point) 를 차례로 실행하고 두 결과를 비교해 출력
+// 동시 연결 한도는 10k 로 두고(-Ploadtest.max-outstanding 으로 변경 가능), 결과는 loadtest-sync/async-*.json
+tasks.register<JavaExec>("loadTestAsyncComparison") {
+    group = "verification"
+    description = "Runs the load generator once against the sync API and once against the async API."
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("io.hhplus.tdd.loadtest.PointLoadTest")
+    systemProperty("loadtest.output-dir", layout.buildDirectory.dir("loadtest").get().asFile.absolutePath)
+    systemProperty("loadtest.max-outstanding", "10000")
+    systemProperties(providers.gradlePropertiesPrefixedBy("loadtest.").get())
+    systemProperty("loadtest.compare-async", "true")
+    jvmArgs("-Xmx2g")
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
     enabled = true
@@ -0,0 +1,115 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.exception.PointException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 부족(INSUFFICIENT_POINT) 실패 요청 하나당 에러 경로 비용 비교
+ * - 예외 생성 → ApiControllerAdvice 처리 → 메시지 컨버터로 응답 바디 쓰기까지 측정합니다.
+ * - legacy : 스택 트레이스 + 생성 시점 String.format + ErrorResponse 직렬화 (변경 전 동작)
+ * - advice(detailedMessage=true) : 스택 트레이스 없음 + 직렬화 시점 메시지 포맷팅
+ * - advice(detailedMessage=false) : 기본 설정, 메시지 포맷팅/직렬화 없이 미리 직렬화된 응답 사용
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 확인합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointErrorPathBenchmark {
+
+    @Param({"true", "false"})
+    private boolean detailedMessage;
+
+    private long userId = 1L;
+    private long required = 1000L;
+    private long available = 500L;
+
+    private ApiControllerAdvice advice;
+    private MappingJackson2HttpMessageConverter jsonConverter;
+    private ByteArrayHttpMessageConverter byteArrayConverter;
+    private BufferedOutputMessage outputMessage;
+
+    @Setup
+    public void setUp() {
+        advice = new ApiControllerAdvice(detailedMessage);
+        jsonConverter = new MappingJackson2HttpMessageConverter();
+        byteArrayConverter = new ByteArrayHttpMessageConverter();
+        outputMessage = new BufferedOutputMessage();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) throws IOException {
+        LegacyPointException e = new LegacyPointException(
+                String.format("사용자 ID %d의 포인트가 부족합니다. 필요: %d, 보유: %d", userId, required, available));
+        outputMessage.reset();
+        jsonConverter.write(new ErrorResponse("INSUFFICIENT_POINT", e.getMessage()), MediaType.APPLICATION_JSON, outputMessage);
+        blackhole.consume(outputMessage.body.size());
+    }
+
+    @Benchmark
+    public void advice(Blackhole blackhole) throws IOException {
+        ResponseEntity<Object> response = advice.handlePointException(
+                PointException.insufficientPoint(userId, required, available));
+        outputMessage.reset();
+        Object body = response.getBody();
+        if (body instanceof byte[] bytes) {
+            byteArrayConverter.write(bytes, MediaType.APPLICATION_JSON, outputMessage);
+        } else {
+            jsonConverter.write(body, MediaType.APPLICATION_JSON, outputMessage);
+        }
+        blackhole.consume(response.getStatusCode());
+        blackhole.consume(outputMessage.body.size());
+    }
+
+    // 서블릿 응답 대신 재사용하는 출력 메시지 (바디 버퍼 할당은 측정에서 제외)
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        private HttpHeaders headers = new HttpHeaders();
+
+        void reset() {
+            body.reset();
+            headers = new HttpHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    // 변경 전 PointException 과 같은 방식으로 생성되는 예외
+    private static class LegacyPointException extends RuntimeException {
+        LegacyPointException(String message) {
+            super(message);
+        }
+    }
+}
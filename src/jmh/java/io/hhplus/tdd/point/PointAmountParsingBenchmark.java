@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 충전/사용 요청 본문("500") 파싱 비용 비교
+ * - jackson : @RequestBody long 이 사용하던 ObjectMapper.readValue
+ * - direct : PointAmountArgumentResolver.parseAmount
+ * 메시지 컨버터 선택, Content-Type 협상 비용은 포함하지 않으므로 실제 절감 폭은 이보다 큽니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PointAmountParsingBenchmark {
+
+    private byte[] body;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        body = "150000".getBytes(StandardCharsets.US_ASCII);
+        objectMapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public long jackson() throws IOException {
+        return objectMapper.readValue(body, long.class);
+    }
+
+    @Benchmark
+    public long direct() {
+        return PointAmountArgumentResolver.parseAmount(body, body.length);
+    }
+}
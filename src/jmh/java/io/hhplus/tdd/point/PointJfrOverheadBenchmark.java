@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.monitoring.PointTableEvent;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 에 넣은 JFR 이벤트의 비용
+ * - baseline : 이벤트 없이 같은 작업만 수행
+ * - instrumented : PointService 테이블 호출과 같은 begin/finish 패턴
+ * recording=false 에서 baseline 과 instrumented 의 시간, 할당(gc.alloc.rate.norm)이 같아야 합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PointJfrOverheadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean recording;
+
+    private Recording activeRecording;
+    private long userId = 1L;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (recording) {
+            activeRecording = new Recording();
+            activeRecording.enable(PointTableEvent.class);
+            activeRecording.setToDisk(true);
+            activeRecording.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (activeRecording != null) {
+            activeRecording.close();
+        }
+    }
+
+    @Benchmark
+    public void baseline() {
+        Blackhole.consumeCPU(20);
+    }
+
+    @Benchmark
+    public void instrumented() {
+        PointTableEvent event = new PointTableEvent();
+        event.begin();
+        Blackhole.consumeCPU(20);
+        event.finish("UserPointTable", "selectById", userId);
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 순위 인덱스 쓰기 비용(update, 충전/사용 임계영역에 추가되는 비용)과 조회 지연 측정
+ * 10M 사용자는 힙이 충분해야 합니다. (예: -Xmx8g)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+@State(Scope.Benchmark)
+public class PointLeaderboardBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int userCount;
+
+    private PointLeaderboard leaderboard;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        leaderboard = new PointLeaderboard();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long userId = 0; userId < userCount; userId++) {
+            leaderboard.update(userId, random.nextLong(1_000_000));
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        leaderboard.update(random.nextLong(userCount), random.nextLong(1_000_000));
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> top100() {
+        return leaderboard.top(100);
+    }
+
+    @Benchmark
+    public Optional<LeaderboardEntry> rankOf() {
+        return leaderboard.rankOf(ThreadLocalRandom.current().nextLong(userCount));
+    }
+}
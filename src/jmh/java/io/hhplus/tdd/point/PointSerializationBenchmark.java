@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.serialization.PointBinaryCodec;
+import io.hhplus.tdd.point.serialization.PointJsonSerializers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 히스토리 목록 응답 직렬화 비용 비교
+ * - reflection : 기본 ObjectMapper (record 리플렉션 기반 BeanSerializer)
+ * - streaming : PointJsonSerializers (JsonGenerator 직접 사용)
+ * - binary : PointBinaryCodec (application/x-point-binary)
+ * 출력은 버리는 스트림으로 보내 직렬화 자체의 CPU/할당만 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PointSerializationBenchmark {
+
+    @Param({"100", "100000"})
+    private int size;
+
+    private List<PointHistory> histories;
+    private ObjectMapper reflectionMapper;
+    private ObjectMapper streamingMapper;
+
+    @Setup
+    public void setUp() {
+        long now = System.currentTimeMillis();
+        histories = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            histories.add(new PointHistory(i + 1, 1L, 100L + i % 1000, type, now + i));
+        }
+        reflectionMapper = new ObjectMapper();
+        streamingMapper = new ObjectMapper().registerModule(PointJsonSerializers.module());
+    }
+
+    @Benchmark
+    public void reflection() throws IOException {
+        reflectionMapper.writeValue(OutputStream.nullOutputStream(), histories);
+    }
+
+    @Benchmark
+    public void streaming() throws IOException {
+        streamingMapper.writeValue(OutputStream.nullOutputStream(), histories);
+    }
+
+    @Benchmark
+    public void binary() throws IOException {
+        PointBinaryCodec.writeHistories(histories, OutputStream.nullOutputStream());
+    }
+}
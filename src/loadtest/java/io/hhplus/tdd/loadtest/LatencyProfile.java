@@ -0,0 +1,48 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 테이블 호출 지연 모델
+ * - ORIGINAL : 원본 UserPointTable / PointHistoryTable 을 그대로 사용 (기본값)
+ *              Math.random 지연과 HashMap / ArrayList 저장소, 전체 목록을 훑는 히스토리 조회까지 원본과 같음
+ * - RANDOM : 원본과 같은 0 ~ max 균등 분포 지연
+ * - FIXED  : 평균이 같은 고정 지연 (max / 2), 지연의 분산이 꼬리 지연에 주는 영향을 분리해서 볼 때 사용
+ * - ZERO   : 지연 없음, 애플리케이션 자체(락, 직렬화, 톰캣)의 한계를 볼 때 사용
+ * RANDOM / FIXED / ZERO 는 원본 테이블을 대신하는 합성 테이블(ProfiledUserPointTable, ProfiledPointHistoryTable)을 쓰며,
+ * 저장소와 난수 생성기가 원본과 다르므로 결과는 synthetic 으로 표시됩니다.
+ */
+public enum LatencyProfile {
+    ORIGINAL,
+    RANDOM,
+    FIXED,
+    ZERO;
+
+    public boolean synthetic() {
+        return this != ORIGINAL;
+    }
+
+    // 결과 파일 이름과 리포트에 남기는 테이블 구분 (예: original, synthetic-fixed)
+    public String tables() {
+        return synthetic() ? "synthetic-" + name().toLowerCase(Locale.ROOT) : "original";
+    }
+
+    public void pause(long maxMillis) {
+        long millis = switch (this) {
+            case ORIGINAL -> throw new IllegalStateException("original tables use their own throttle");
+            case RANDOM -> (long) (ThreadLocalRandom.current().nextDouble() * maxMillis);
+            case FIXED -> maxMillis / 2;
+            case ZERO -> 0L;
+        };
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 고정 도착률(open model) 부하 생성기
+ * - i 번째 요청의 시작 시각은 start + i / rate 로 미리 정해지고, 응답을 기다리지 않고 비동기로 보냅니다.
+ *   서버가 느려져도 요청 간격이 늘어나지 않으므로 closed loop 처럼 부하가 저절로 줄지 않습니다.
+ * - 지연은 예정된 시작 시각부터 측정합니다. 생성기 스레드가 밀려 늦게 보낸 요청도
+ *   밀린 시간만큼 지연으로 집계되어 coordinated omission 이 보정됩니다.
+ *   응답 대기 한도로 보내지 못한 요청도 타임아웃 실패로 지연 분포에 포함합니다.
+ */
+class LoadGenerator {
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final OperationMix mix;
+    private final ZipfianUserSampler sampler;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    // Zipf 순위 상위(hotUsers) 사용자와 나머지 사용자의 요청 (요청 종류 구분 없이)
+    private final OperationStats hotUserStats;
+    private final OperationStats otherUserStats;
+
+    private long maxScheduleLagNanos;
+
+    LoadGenerator(LoadTestConfig config, URI baseUri) {
+        this.config = config;
+        this.baseUri = baseUri;
+        this.mix = new OperationMix(config.mix());
+        this.sampler = new ZipfianUserSampler(config.users(), config.zipfExponent());
+        this.hotUserStats = newStats();
+        this.otherUserStats = newStats();
+        for (Operation operation : config.mix().keySet()) {
+            stats.put(operation, newStats());
+        }
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Semaphore outstanding = new Semaphore(config.maxOutstanding());
+
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) config.rate();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureStart = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            maxScheduleLagNanos = Math.max(maxScheduleLagNanos, -wait);
+
+            Operation operation = mix.next();
+            long userId = sampler.nextUserId();
+            boolean measured = intended >= measureStart;
+            OperationStats operationStats = stats.get(operation);
+            OperationStats userStats = userId <= config.hotUsers() ? hotUserStats : otherUserStats;
+            if (!outstanding.tryAcquire()) {
+                if (measured) {
+                    operationStats.recordDropped();
+                    userStats.recordDropped();
+                }
+                continue;
+            }
+
+            long sent = System.nanoTime();
+            client.sendAsync(operation.request(baseUri, userId, config), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long done = System.nanoTime();
+                        outstanding.release();
+                        if (measured) {
+                            int status = response != null ? response.statusCode() : -1;
+                            operationStats.record(intended, sent, done, status);
+                            userStats.record(intended, sent, done, status);
+                        }
+                    });
+        }
+
+        // 남은 응답을 모두 받은 뒤 집계 (클라이언트 타임아웃보다 오래 기다리지 않음)
+        if (outstanding.tryAcquire(config.maxOutstanding(), config.clientTimeoutMillis() + 1000, TimeUnit.MILLISECONDS)) {
+            outstanding.release(config.maxOutstanding());
+        }
+        return report();
+    }
+
+    private OperationStats newStats() {
+        return new OperationStats(TimeUnit.MILLISECONDS.toNanos(config.goodputMillis()),
+                TimeUnit.MILLISECONDS.toNanos(config.clientTimeoutMillis()));
+    }
+
+    private LoadTestReport report() {
+        OperationStats total = newStats();
+        Map<Operation, LoadTestReport.OperationSummary> operations = new EnumMap<>(Operation.class);
+        stats.forEach((operation, operationStats) -> {
+            operations.put(operation, operationStats.summarize(operation.name()));
+            total.add(operationStats);
+        });
+        LoadTestReport.OperationSummary totalSummary = total.summarize("TOTAL");
+        double achievedRate = (double) (totalSummary.requests() - totalSummary.dropped()) / config.durationSeconds();
+        return new LoadTestReport(config, config.profile().tables(), achievedRate, maxScheduleLagNanos / 1_000_000.0, totalSummary, operations,
+                hotUserStats.summarize("HOT_USERS"), otherUserStats.summarize("OTHER_USERS"));
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 부하 테스트 설정, 시스템 프로퍼티 loadtest.* 로 전달합니다.
+ *
+ * @param rate                 초당 요청 수 (요청 시작 시각이 고정된 open model)
+ * @param warmupSeconds        결과에서 제외하는 예열 구간
+ * @param durationSeconds      측정 구간
+ * @param users                사용자 수 (userId 1..users)
+ * @param zipfExponent         사용자 분포의 Zipf 지수 (0 이면 균등)
+ * @param mix                  요청 종류별 가중치, ASYNC_* 는 비동기 API(/async/point) 로 보냄
+ *                             (동기/비동기 API 비교는 ./gradlew loadTestAsyncComparison, compareAsync 참고)
+ * @param profile              테이블 지연 모델 (기본값 original 은 원본 테이블, 나머지는 합성 테이블)
+ * @param requestTimeoutMillis X-Request-Timeout-Millis 헤더 값 (0 이하면 보내지 않고 서버 기본값 사용)
+ * @param maxOutstanding       동시에 응답을 기다리는 최대 요청 수, 넘으면 보내지 않고 dropped 로 집계
+ *                             (dropped 요청은 예정된 시작 시각부터 clientTimeoutMillis 만큼 걸린 실패로 지연 분포에 포함)
+ * @param goodputMillis        이 시간 안에 성공한 요청만 goodput 으로 집계
+ *                             (예: 마감 시간을 짧게 준 실행과 길게 준 실행의 goodput 비교
+ *                             -Ploadtest.app.point.request.timeout-millis=100 -Ploadtest.goodput-millis=100,
+ *                             마감 시간 없는 기준선은 -Ploadtest.app.point.request.timeout-millis=0)
+ * @param hotUsers             Zipf 순위 상위 사용자 수, 결과를 이 사용자들과 나머지 사용자로 나눠서도 집계
+ * @param appProperties        애플리케이션에 전달할 프로퍼티 (loadtest.app.* 로 전달, application.yml 보다 우선)
+ * @param serverJvmArgs        별도 프로세스로 띄우는 애플리케이션의 JVM 옵션
+ * @param targetUrl            이미 떠 있는 애플리케이션 주소, 없으면 애플리케이션을 별도 프로세스로 띄움
+ * @param compareAsync         true 이면 같은 가중치로 동기 API 와 비동기 API 를 각각 새 애플리케이션에 한 번씩 실행
+ */
+public record LoadTestConfig(
+        int rate,
+        int warmupSeconds,
+        int durationSeconds,
+        int users,
+        double zipfExponent,
+        Map<Operation, Integer> mix,
+        LatencyProfile profile,
+        long chargeAmount,
+        long useAmount,
+        long requestTimeoutMillis,
+        long clientTimeoutMillis,
+        int maxOutstanding,
+        long goodputMillis,
+        int hotUsers,
+        Map<String, String> appProperties,
+        String serverJvmArgs,
+        String targetUrl,
+        boolean compareAsync,
+        @JsonIgnore Path outputDir
+) {
+    private static final String APP_PREFIX = "loadtest.app.";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.parseInt(property("rate", "500")),
+                Integer.parseInt(property("warmup-seconds", "10")),
+                Integer.parseInt(property("duration-seconds", "60")),
+                Integer.parseInt(property("users", "10000")),
+                Double.parseDouble(property("zipf", "0.99")),
+                OperationMix.parse(property("mix", "charge=30,use=20,get=40,history=10")).weights(),
+                LatencyProfile.valueOf(property("profile", "original").toUpperCase(Locale.ROOT)),
+                Long.parseLong(property("charge-amount", "1000")),
+                Long.parseLong(property("use-amount", "100")),
+                Long.parseLong(property("request-timeout-millis", "0")),
+                Long.parseLong(property("client-timeout-millis", "30000")),
+                Integer.parseInt(property("max-outstanding", "20000")),
+                Long.parseLong(property("goodput-millis", "1000")),
+                Integer.parseInt(property("hot-users", "10")),
+                appProperties(),
+                property("server-jvm-args", "-Xmx2g"),
+                System.getProperty("loadtest.target-url"),
+                Boolean.parseBoolean(property("compare-async", "false")),
+                Path.of(property("output-dir", "build/loadtest"))
+        );
+    }
+
+    LoadTestConfig withMix(Map<Operation, Integer> mix) {
+        return new LoadTestConfig(rate, warmupSeconds, durationSeconds, users, zipfExponent, mix, profile,
+                chargeAmount, useAmount, requestTimeoutMillis, clientTimeoutMillis, maxOutstanding, goodputMillis,
+                hotUsers, appProperties, serverJvmArgs, targetUrl, compareAsync, outputDir);
+    }
+
+    private static Map<String, String> appProperties() {
+        Map<String, String> properties = new TreeMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith(APP_PREFIX))
+                .forEach(key -> properties.put(key.substring(APP_PREFIX.length()), System.getProperty(key)));
+        return properties;
+    }
+
+    private static String property(String key, String defaultValue) {
+        return System.getProperty("loadtest." + key, defaultValue);
+    }
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.AbstractHistogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과, 실행 간 비교를 위해 JSON 으로 저장합니다.
+ *
+ * @param tables              원본 테이블(original)로 잰 결과인지, 합성 테이블(synthetic-*)로 잰 결과인지
+ * @param achievedRate        측정 구간에 실제로 보낸 초당 요청 수 (rate 보다 낮으면 dropped 가 있었음)
+ * @param maxScheduleLagMillis 생성기 스레드가 예정된 시작 시각보다 가장 많이 늦은 시간
+ * @param hotUsers            Zipf 순위 상위 config.hotUsers 명의 요청
+ * @param otherUsers          나머지 사용자의 요청 (핫키 사용자 때문에 다른 사용자의 꼬리 지연이 늘어나는지 비교)
+ */
+public record LoadTestReport(
+        LoadTestConfig config,
+        String tables,
+        double achievedRate,
+        double maxScheduleLagMillis,
+        OperationSummary total,
+        Map<Operation, OperationSummary> operations,
+        OperationSummary hotUsers,
+        OperationSummary otherUsers
+) {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public record OperationSummary(
+            String operation,
+            long requests,
+            long success,
+            long goodput,
+            long clientErrors,
+            long serverErrors,
+            long failures,
+            long dropped,
+            LatencySummary latency,
+            LatencySummary uncorrected
+    ) {
+    }
+
+    // 단위 ms
+    public record LatencySummary(
+            double mean,
+            double p50,
+            double p90,
+            double p99,
+            double p999,
+            double p9999,
+            double max
+    ) {
+        static LatencySummary of(AbstractHistogram histogram) {
+            return new LatencySummary(
+                    millis(histogram.getMean()),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getValueAtPercentile(99.99)),
+                    millis(histogram.getMaxValue())
+            );
+        }
+
+        private static double millis(double nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    Path write(Path outputDir) throws IOException {
+        return write(outputDir, "loadtest-" + tables);
+    }
+
+    Path write(Path outputDir, String name) throws IOException {
+        Files.createDirectories(outputDir);
+        Path file = outputDir.resolve(name + "-" + LocalDateTime.now().format(FILE_TIME) + ".json");
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+        return file;
+    }
+}
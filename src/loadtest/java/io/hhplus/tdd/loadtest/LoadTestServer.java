@@ -0,0 +1,43 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.TddApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * 부하 생성기와 다른 JVM 에서 띄우는 테스트 대상 애플리케이션 (LoadTestServerProcess 가 실행)
+ * - loadtest.profile 지연 모델의 테이블로 TddApplication 을 띄우고, 열린 포트를 loadtest.port-file 에 씁니다.
+ * - 애플리케이션 프로퍼티는 커맨드라인 인자(--key=value)로 받습니다.
+ */
+public class LoadTestServer {
+    static final String PROFILE_PROPERTY = "loadtest.profile";
+    static final String PORT_FILE_PROPERTY = "loadtest.port-file";
+
+    public static void main(String[] args) {
+        LatencyProfile profile = LatencyProfile.valueOf(
+                System.getProperty(PROFILE_PROPERTY, "original").toUpperCase(Locale.ROOT));
+        Path portFile = Path.of(System.getProperty(PORT_FILE_PROPERTY));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .initializers(new TableLatencyInitializer(profile))
+                .run(args);
+        writePort(portFile, context.getEnvironment().getRequiredProperty("local.server.port", Integer.class));
+    }
+
+    // 생성기가 쓰다 만 파일을 읽지 않도록 임시 파일에 쓴 뒤 옮김
+    private static void writePort(Path portFile, int port) {
+        try {
+            Path temp = Files.createTempFile(portFile.toAbsolutePath().getParent(), "port", ".tmp");
+            Files.writeString(temp, Integer.toString(port));
+            Files.move(temp, portFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
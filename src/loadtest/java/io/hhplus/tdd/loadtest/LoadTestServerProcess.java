@@ -0,0 +1,85 @@
+package io.hhplus.tdd.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoadTestServer 를 별도 JVM 프로세스로 띄웁니다.
+ * - 같은 JVM 에서 띄우면 생성기와 애플리케이션이 힙, GC, CPU 를 나눠 써서 측정한 지연이 왜곡됩니다.
+ * - 서버 로그는 출력 디렉터리의 server.log 에 남깁니다.
+ */
+class LoadTestServerProcess implements AutoCloseable {
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private final Process process;
+    private final URI baseUri;
+
+    private LoadTestServerProcess(Process process, URI baseUri) {
+        this.process = process;
+        this.baseUri = baseUri;
+    }
+
+    static LoadTestServerProcess start(LoadTestConfig config) throws IOException, InterruptedException {
+        Files.createDirectories(config.outputDir());
+        Path portFile = config.outputDir().resolve("server.port");
+        Files.deleteIfExists(portFile);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!config.serverJvmArgs().isBlank()) {
+            command.addAll(List.of(config.serverJvmArgs().trim().split("\\s+")));
+        }
+        command.add("-D" + LoadTestServer.PROFILE_PROPERTY + "=" + config.profile().name());
+        command.add("-D" + LoadTestServer.PORT_FILE_PROPERTY + "=" + portFile.toAbsolutePath());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadTestServer.class.getName());
+        // application.yml 보다 우선하도록 커맨드라인 인자로 전달
+        command.add("--server.port=0");
+        config.appProperties().forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(config.outputDir().resolve("server.log").toFile())
+                .start();
+        try {
+            int port = awaitPort(process, portFile);
+            return new LoadTestServerProcess(process, URI.create("http://localhost:" + port));
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+
+    private static int awaitPort(Process process, Path portFile) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (!Files.exists(portFile)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("load test server exited with " + process.exitValue() + " (see server.log)");
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("load test server did not start in " + STARTUP_TIMEOUT_MILLIS + "ms");
+            }
+            Thread.sleep(100);
+        }
+        return Integer.parseInt(Files.readString(portFile).trim());
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    // SIGTERM 으로 정상 종료를 기다리고, 끝나지 않으면 강제 종료
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.point.PointController;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * 부하 생성기가 보내는 포인트 API 요청 종류
+ * - ASYNC_* 는 같은 요청을 비동기 API(/async/point) 로 보냅니다.
+ */
+public enum Operation {
+    CHARGE("/point"),
+    USE("/point"),
+    GET("/point"),
+    HISTORY("/point"),
+    ASYNC_CHARGE("/async/point"),
+    ASYNC_USE("/async/point"),
+    ASYNC_GET("/async/point"),
+    ASYNC_HISTORY("/async/point");
+
+    private final String basePath;
+
+    Operation(String basePath) {
+        this.basePath = basePath;
+    }
+
+    // 같은 요청을 동기(/point) 또는 비동기(/async/point) API 로 보내는 요청 종류
+    Operation withApi(boolean async) {
+        return switch (this) {
+            case CHARGE, ASYNC_CHARGE -> async ? ASYNC_CHARGE : CHARGE;
+            case USE, ASYNC_USE -> async ? ASYNC_USE : USE;
+            case GET, ASYNC_GET -> async ? ASYNC_GET : GET;
+            case HISTORY, ASYNC_HISTORY -> async ? ASYNC_HISTORY : HISTORY;
+        };
+    }
+
+    HttpRequest request(URI baseUri, long userId, LoadTestConfig config) {
+        String path = basePath + "/" + userId;
+        HttpRequest.Builder builder = switch (this) {
+            case CHARGE, ASYNC_CHARGE -> HttpRequest.newBuilder(baseUri.resolve(path + "/charge"))
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(Long.toString(config.chargeAmount())));
+            case USE, ASYNC_USE -> HttpRequest.newBuilder(baseUri.resolve(path + "/use"))
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(Long.toString(config.useAmount())));
+            case GET, ASYNC_GET -> HttpRequest.newBuilder(baseUri.resolve(path)).GET();
+            case HISTORY, ASYNC_HISTORY -> HttpRequest.newBuilder(baseUri.resolve(path + "/histories")).GET();
+        };
+        builder.header("Content-Type", "application/json")
+                .timeout(Duration.ofMillis(config.clientTimeoutMillis()));
+        if (config.requestTimeoutMillis() > 0) {
+            builder.header(PointController.TIMEOUT_HEADER, Long.toString(config.requestTimeoutMillis()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청 종류별 가중치 (예: "charge=30,use=20,get=40,history=10", 비동기 API 는 "async_charge=30,...")
+ */
+class OperationMix {
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    OperationMix(Map<Operation, Integer> weights) {
+        this.weights = new EnumMap<>(weights);
+        this.operations = this.weights.keySet().toArray(new Operation[0]);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += this.weights.get(operations[i]);
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("operation mix must have a positive weight: " + weights);
+        }
+        this.total = sum;
+    }
+
+    static OperationMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("invalid operation mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("negative weight: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        return new OperationMix(weights);
+    }
+
+    // 가중치는 그대로 두고 모든 요청을 동기 또는 비동기 API 로 보내는 구성
+    static Map<Operation, Integer> withApi(Map<Operation, Integer> weights, boolean async) {
+        Map<Operation, Integer> converted = new EnumMap<>(Operation.class);
+        weights.forEach((operation, weight) -> converted.merge(operation.withApi(async), weight, Integer::sum));
+        return converted;
+    }
+
+    Operation next() {
+        int value = ThreadLocalRandom.current().nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (value < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    Map<Operation, Integer> weights() {
+        return weights;
+    }
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 종류 하나의 응답 상태와 지연 분포
+ * - latency     : 예정된 시작 시각부터 응답까지 (coordinated omission 보정)
+ * - uncorrected : 실제로 보낸 시각부터 응답까지 (생성기가 밀리면 서버 지연이 과소평가됨)
+ * - goodput     : goodputNanos 안에 성공한 요청 수 (클라이언트가 기다려 준 시간 안에 끝난 요청)
+ * - dropped     : 응답 대기 한도로 보내지 못한 요청, 클라이언트 타임아웃으로 실패한 것으로 latency 에 기록
+ *                 (빼고 집계하면 서버가 밀린 구간의 요청이 분포에서 사라져 coordinated omission 이 다시 생김)
+ */
+class OperationStats {
+    private final long goodputNanos;
+    private final long timeoutNanos;
+
+    final ConcurrentHistogram latency = new ConcurrentHistogram(3);
+    final ConcurrentHistogram uncorrected = new ConcurrentHistogram(3);
+    final LongAdder success = new LongAdder();
+    final LongAdder goodput = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+
+    OperationStats(long goodputNanos, long timeoutNanos) {
+        this.goodputNanos = goodputNanos;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    // 보내지 않은 요청은 실제로 보낸 시각이 없으므로 uncorrected 에는 넣지 않음
+    void recordDropped() {
+        latency.recordValue(timeoutNanos);
+        dropped.increment();
+    }
+
+    void record(long intendedNanos, long sentNanos, long doneNanos, int status) {
+        latency.recordValue(Math.max(0, doneNanos - intendedNanos));
+        uncorrected.recordValue(Math.max(0, doneNanos - sentNanos));
+        if (status < 0) {
+            failures.increment();
+        } else if (status < 400) {
+            success.increment();
+            if (doneNanos - intendedNanos <= goodputNanos) {
+                goodput.increment();
+            }
+        } else if (status < 500) {
+            clientErrors.increment();
+        } else {
+            serverErrors.increment();
+        }
+    }
+
+    void add(OperationStats other) {
+        latency.add(other.latency);
+        uncorrected.add(other.uncorrected);
+        success.add(other.success.sum());
+        goodput.add(other.goodput.sum());
+        clientErrors.add(other.clientErrors.sum());
+        serverErrors.add(other.serverErrors.sum());
+        failures.add(other.failures.sum());
+        dropped.add(other.dropped.sum());
+    }
+
+    LoadTestReport.OperationSummary summarize(String name) {
+        return new LoadTestReport.OperationSummary(
+                name,
+                latency.getTotalCount(),
+                success.sum(),
+                goodput.sum(),
+                clientErrors.sum(),
+                serverErrors.sum(),
+                failures.sum(),
+                dropped.sum(),
+                LoadTestReport.LatencySummary.of(latency),
+                LoadTestReport.LatencySummary.of(uncorrected)
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * ./gradlew loadTest -Ploadtest.rate=1000
+ * 애플리케이션을 별도 JVM(LoadTestServer)으로 임의 포트에 띄우고 부하를 건 뒤 결과 JSON 경로를 출력합니다.
+ * -Ploadtest.target-url=http://host:8080 을 주면 이미 떠 있는 애플리케이션(예: ./gradlew bootRun)에 부하를 겁니다.
+ * (이 경우 profile, app.* 설정은 적용되지 않음)
+ *
+ * 기본값은 원본 테이블 그대로이며, -Ploadtest.profile=random|fixed|zero 는 합성 테이블로 바꾸므로
+ * 결과 파일 이름과 출력에 synthetic 이 붙습니다. (원본 테이블 결과와 섞어서 비교하지 말 것)
+ *
+ * 핫키 전용 레인 비교 (치우친 부하에서 나머지 사용자의 p99)
+ * ./gradlew loadTest -Ploadtest.zipf=1.2 -Ploadtest.app.point.hot-key.enabled=false
+ * ./gradlew loadTest -Ploadtest.zipf=1.2 -Ploadtest.app.point.hot-key.enabled=true
+ *
+ * 동기/비동기 API 비교 (최대 10k 동시 연결, 같은 가중치로 각각 새 애플리케이션에 실행)
+ * ./gradlew loadTestAsyncComparison -Ploadtest.rate=5000
+ */
+public class PointLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (!config.compareAsync()) {
+            run(config, null);
+            return;
+        }
+        // 앞선 실행에서 쌓인 히스토리/잔액이 영향을 주지 않도록 애플리케이션을 실행마다 새로 띄움
+        LoadTestReport sync = run(config.withMix(OperationMix.withApi(config.mix(), false)), "loadtest-sync-" + config.profile().tables());
+        LoadTestReport async = run(config.withMix(OperationMix.withApi(config.mix(), true)), "loadtest-async-" + config.profile().tables());
+        System.out.println("tables: " + config.profile().tables());
+        System.out.printf("%-6s %10s %10s %10s %10s %10s %10s%n",
+                "api", "achieved/s", "goodput", "5xx", "dropped", "p99(ms)", "p99.9(ms)");
+        printComparison("sync", sync);
+        printComparison("async", async);
+    }
+
+    private static LoadTestReport run(LoadTestConfig config, String name) throws Exception {
+        if (config.targetUrl() != null) {
+            return run(config, URI.create(config.targetUrl()), name);
+        }
+        try (LoadTestServerProcess server = LoadTestServerProcess.start(config)) {
+            return run(config, server.baseUri(), name);
+        }
+    }
+
+    private static LoadTestReport run(LoadTestConfig config, URI baseUri, String name) throws Exception {
+        LoadTestReport report = new LoadGenerator(config, baseUri).run();
+        Path file = name == null ? report.write(config.outputDir()) : report.write(config.outputDir(), name);
+
+        LoadTestReport.OperationSummary total = report.total();
+        System.out.println("tables: " + report.tables());
+        System.out.printf("rate=%d/s achieved=%.1f/s requests=%d success=%d goodput=%d 4xx=%d 5xx=%d failures=%d dropped=%d%n",
+                config.rate(), report.achievedRate(), total.requests(), total.success(), total.goodput(),
+                total.clientErrors(), total.serverErrors(), total.failures(), total.dropped());
+        System.out.printf("latency(ms) p50=%.1f p99=%.1f p99.9=%.1f max=%.1f (uncorrected p99=%.1f)%n",
+                total.latency().p50(), total.latency().p99(), total.latency().p999(), total.latency().max(),
+                total.uncorrected().p99());
+        System.out.printf("other users latency(ms) p99=%.1f p99.9=%.1f, hot users p99=%.1f%n",
+                report.otherUsers().latency().p99(), report.otherUsers().latency().p999(),
+                report.hotUsers().latency().p99());
+        System.out.println("report: " + file);
+        return report;
+    }
+
+    private static void printComparison(String api, LoadTestReport report) {
+        LoadTestReport.OperationSummary total = report.total();
+        System.out.printf("%-6s %10.1f %10d %10d %10d %10.1f %10.1f%n", api, report.achievedRate(), total.goodput(),
+                total.serverErrors(), total.dropped(), total.latency().p99(), total.latency().p999());
+    }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 지연 모델을 바꿀 수 있는 합성 PointHistoryTable (-Ploadtest.profile=random|fixed|zero 일 때만 사용)
+ * 전체 목록을 훑는 원본과 달리 사용자별 목록으로 저장하므로, 이 테이블로 잰 결과는 synthetic 으로 표시됩니다.
+ */
+class ProfiledPointHistoryTable extends PointHistoryTable {
+    private final Map<Long, List<PointHistory>> table = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+    private final LatencyProfile profile;
+
+    ProfiledPointHistoryTable(LatencyProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        profile.pause(300);
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        List<PointHistory> histories = table.computeIfAbsent(userId, k -> new ArrayList<>());
+        synchronized (histories) {
+            histories.add(pointHistory);
+        }
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> histories = table.get(userId);
+        if (histories == null) {
+            return List.of();
+        }
+        synchronized (histories) {
+            return List.copyOf(histories);
+        }
+    }
+}
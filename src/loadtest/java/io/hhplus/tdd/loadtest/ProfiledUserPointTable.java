@@ -0,0 +1,35 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지연 모델을 바꿀 수 있는 합성 UserPointTable (-Ploadtest.profile=random|fixed|zero 일 때만 사용)
+ * 원본 테이블은 변경하지 않고 공개 메서드만 재정의하며, 저장소는 부하 중에도 안전한 ConcurrentHashMap 을 사용합니다.
+ * 원본과 저장소가 다르므로 이 테이블로 잰 결과는 synthetic 으로 표시됩니다.
+ */
+class ProfiledUserPointTable extends UserPointTable {
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final LatencyProfile profile;
+
+    ProfiledUserPointTable(LatencyProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        profile.pause(200);
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        profile.pause(300);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.loadtest;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * 지연 모델이 적용된 테이블을 @Primary 빈으로 등록해 원본 테이블 대신 주입되도록 합니다.
+ * ORIGINAL 이면 아무것도 등록하지 않아 원본 테이블이 그대로 주입됩니다.
+ */
+class TableLatencyInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+    private final LatencyProfile profile;
+
+    TableLatencyInitializer(LatencyProfile profile) {
+        this.profile = profile;
+    }
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+        if (!profile.synthetic()) {
+            return;
+        }
+        context.registerBean("profiledUserPointTable", UserPointTable.class,
+                () -> new ProfiledUserPointTable(profile), definition -> definition.setPrimary(true));
+        context.registerBean("profiledPointHistoryTable", PointHistoryTable.class,
+                () -> new ProfiledPointHistoryTable(profile), definition -> definition.setPrimary(true));
+    }
+}
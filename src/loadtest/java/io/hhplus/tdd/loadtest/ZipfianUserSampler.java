@@ -0,0 +1,37 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 1..userCount 사용자 중 순위 k 가 1 / k^exponent 에 비례하는 확률로 뽑히는 샘플러
+ * - exponent 0 이면 균등 분포, 1 전후면 소수 사용자에게 요청이 몰리는 전형적인 핫키 분포입니다.
+ * - 누적 분포를 미리 계산해두고 이진 탐색으로 뽑습니다. (사용자 수만큼의 double 배열)
+ */
+class ZipfianUserSampler {
+    private final double[] cumulative;
+
+    ZipfianUserSampler(int userCount, double exponent) {
+        if (userCount <= 0) {
+            throw new IllegalArgumentException("userCount must be positive: " + userCount);
+        }
+        cumulative = new double[userCount];
+        double sum = 0;
+        for (int rank = 1; rank <= userCount; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < userCount; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    long nextUserId() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int index = Arrays.binarySearch(cumulative, u);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, cumulative.length - 1) + 1L;
+    }
+}
@@ -1,36 +1,87 @@
 package io.hhplus.tdd;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.hhplus.tdd.point.exception.PointException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
-    
+
+    // 고정된 에러 응답은 JSON 직렬화 결과를 미리 만들어 두고 그대로 내려줌
+    private static final Map<PointException.ErrorCode, ResponseEntity<Object>> FIXED_POINT_ERRORS =
+            new EnumMap<>(PointException.ErrorCode.class);
+    private static final ResponseEntity<Object> INTERNAL_SERVER_ERROR;
+    static {
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (PointException.ErrorCode errorCode : PointException.ErrorCode.values()) {
+            FIXED_POINT_ERRORS.put(errorCode, fixedResponse(objectMapper, getHttpStatusForErrorCode(errorCode),
+                    new ErrorResponse(errorCode.name(), errorCode.getDefaultMessage())));
+        }
+        INTERNAL_SERVER_ERROR = fixedResponse(objectMapper, HttpStatus.INTERNAL_SERVER_ERROR,
+                new ErrorResponse("INTERNAL_SERVER_ERROR", "서버 내부 오류가 발생했습니다."));
+    }
+
+    // false(기본값) : ErrorCode 기본 메시지만 내려주고 미리 직렬화된 응답을 재사용 (에러 경로 할당 최소화)
+    // true : 요청별 상세 메시지(필요/보유 포인트 등)를 내려주는 대신 실패마다 메시지 포맷팅 + JSON 직렬화 비용이 듬
+    // (비용 비교는 PointErrorPathBenchmark)
+    private final boolean detailedMessage;
+
+    ApiControllerAdvice(@Value("${point.error.detailed-message:false}") boolean detailedMessage) {
+        this.detailedMessage = detailedMessage;
+    }
+
     @ExceptionHandler(value = PointException.class)
-    public ResponseEntity<ErrorResponse> handlePointException(PointException e) {
+    public ResponseEntity<Object> handlePointException(PointException e) {
+        if (!detailedMessage) {
+            return FIXED_POINT_ERRORS.get(e.getErrorCode());
+        }
         HttpStatus status = getHttpStatusForErrorCode(e.getErrorCode());
+        // Accept 가 바이너리 형식이어도 에러 응답은 항상 JSON 으로 내려줌 (Content-Type 을 지정하면 협상을 건너뜀)
         return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
                 .body(new ErrorResponse(e.getErrorCodeString(), e.getMessage()));
     }
-    
+
     @ExceptionHandler(value = Exception.class)
-    public ResponseEntity<ErrorResponse> handleException(Exception e) {
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("INTERNAL_SERVER_ERROR", "서버 내부 오류가 발생했습니다."));
+    public ResponseEntity<Object> handleException(Exception e) {
+        return INTERNAL_SERVER_ERROR;
     }
-    
-    private HttpStatus getHttpStatusForErrorCode(PointException.ErrorCode errorCode) {
+
+    private static HttpStatus getHttpStatusForErrorCode(PointException.ErrorCode errorCode) {
         switch (errorCode) {
+            case REQUEST_TIMEOUT:
+            case SERVER_BUSY:
+                return HttpStatus.SERVICE_UNAVAILABLE;
+            case EXPORT_LOG_FAILED:
+                return HttpStatus.INTERNAL_SERVER_ERROR;
             case USER_NOT_FOUND:
                 //return HttpStatus.NOT_FOUND;
             case INVALID_AMOUNT:
             case INSUFFICIENT_POINT:
+            case INVALID_TRANSFER:
+            case EXPORT_OFFSET_OUT_OF_RANGE:
             default:
                 return HttpStatus.BAD_REQUEST;
         }
     }
+
+    private static ResponseEntity<Object> fixedResponse(ObjectMapper objectMapper, HttpStatus status, ErrorResponse body) {
+        try {
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
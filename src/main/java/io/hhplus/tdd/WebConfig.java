@@ -0,0 +1,25 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.PointAmountArgumentResolver;
+import io.hhplus.tdd.point.serialization.PointBinaryHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // 기본 컨버터 뒤에 추가해서 Accept 가 없거나 */* 인 요청은 계속 JSON 으로 응답
+        converters.add(new PointBinaryHttpMessageConverter());
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new PointAmountArgumentResolver());
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointController 와 같은 API 를 서블릿 스레드를 붙잡지 않는 방식으로 제공합니다.
+ * 핸들러는 AsyncPointService 에 작업을 넘기고 바로 반환하며, 응답은 I/O 스레드에서 작업이 끝날 때 쓰입니다.
+ */
+@RestController
+@RequestMapping("/async/point")
+@RequiredArgsConstructor
+public class AsyncPointController {
+    // 서블릿 비동기 요청 타임아웃을 0 이하로 주면 타임아웃 없음
+    private static final long NO_TIMEOUT = -1L;
+
+    private final AsyncPointService asyncPointService;
+
+    @Value("${point.request.timeout-millis:3000}")
+    private long defaultTimeoutMillis;
+
+    @GetMapping("{id}")
+    public DeferredResult<UserPoint> point(@PathVariable long id,
+                                           @RequestHeader(value = PointController.TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        RequestDeadline deadline = deadline(timeoutMillis);
+        return deferred(id, deadline, asyncPointService.getUserPoint(id, deadline));
+    }
+
+    @GetMapping("{id}/histories")
+    public DeferredResult<List<PointHistory>> history(@PathVariable long id,
+                                                      @RequestHeader(value = PointController.TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        RequestDeadline deadline = deadline(timeoutMillis);
+        return deferred(id, deadline, asyncPointService.getUserPointHistory(id, deadline));
+    }
+
+    @PatchMapping("{id}/charge")
+    public DeferredResult<UserPoint> charge(@PathVariable long id, @PointAmount long amount,
+                                            @RequestHeader(value = PointController.TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        RequestDeadline deadline = deadline(timeoutMillis);
+        return deferred(id, deadline, asyncPointService.chargePoint(id, amount, deadline));
+    }
+
+    @PatchMapping("{id}/use")
+    public DeferredResult<UserPoint> use(@PathVariable long id, @PointAmount long amount,
+                                         @RequestHeader(value = PointController.TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        RequestDeadline deadline = deadline(timeoutMillis);
+        return deferred(id, deadline, asyncPointService.usePoint(id, amount, deadline));
+    }
+
+    private RequestDeadline deadline(Long timeoutMillis) {
+        return RequestDeadline.fromHeader(timeoutMillis, defaultTimeoutMillis);
+    }
+
+    // 작업 결과를 DeferredResult 로 전달 (예외는 ApiControllerAdvice 에서 처리)
+    // 비동기 요청 타임아웃은 요청 마감 시각에 맞추고, 그때까지 끝나지 않으면 REQUEST_TIMEOUT (마감 시각이 없으면 타임아웃 없음)
+    private static <T> DeferredResult<T> deferred(long id, RequestDeadline deadline, CompletableFuture<T> future) {
+        long timeoutMillis = deadline.isBounded()
+                ? Math.max(1L, TimeUnit.NANOSECONDS.toMillis(deadline.remainingNanos()))
+                : NO_TIMEOUT;
+        DeferredResult<T> result = new DeferredResult<>(timeoutMillis);
+        result.onTimeout(() -> result.setErrorResult(PointException.requestTimeout(id)));
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                result.setResult(value);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,268 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.hotkey.HotKeyLanes;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * PointService 의 비동기 버전
+ * - 테이블 호출은 크기가 제한된 전용 I/O 스레드 풀에서 실행합니다.
+ * - 같은 사용자의 요청은 CompletableFuture 체인으로 순서대로 하나씩 실행되므로,
+ *   비동기 요청끼리는 락을 기다리며 스레드를 점유하지 않습니다.
+ * - 동기 API 와 함께 쓰일 수 있어 충전/사용은 PointService 의 사용자 락 안에서 처리하되,
+ *   락이 다른 요청에 잡혀 있으면 I/O 스레드를 놓고 잠시 뒤 다시 시도합니다. (마감 시각이 지나면 REQUEST_TIMEOUT)
+ * - 처리 중인 요청 수가 한도를 넘으면 SERVER_BUSY 로 즉시 실패합니다.
+ * - 핫키 사용자의 충전/사용은 공용 스레드 풀 대신 전용 레인(HotKeyLanes)으로 보냅니다.
+ *   레인으로 보내는 시점도 같은 사용자 체인 안에서 정하므로, 앞선 요청 뒤에 넘기고 뒤의 조회는 레인 처리가 끝난 뒤에 실행됩니다.
+ *   (같은 레인으로 연달아 보내는 요청은 직전 요청이 넘겨지는 대로 넘겨 레인에서 묶어 처리되도록 함)
+ */
+@Service
+public class AsyncPointService {
+    // 사용자 락을 얻지 못했을 때 다시 시도하기까지의 대기 시간 (두 배씩 늘림)
+    private static final long MIN_RETRY_MICROS = 500L;
+    private static final long MAX_RETRY_MICROS = 20_000L;
+
+    private final PointService pointService;
+    private final HotKeyLanes hotKeyLanes;
+    private final ThreadPoolExecutor ioExecutor;
+    private final ScheduledExecutorService retryScheduler;
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 사용자별 마지막 작업
+    private final ConcurrentHashMap<Long, Tail> tails = new ConcurrentHashMap<>();
+
+    public AsyncPointService(PointService pointService,
+                             HotKeyLanes hotKeyLanes,
+                             @Value("${point.async.io-threads:32}") int ioThreads,
+                             @Value("${point.async.queue-capacity:10000}") int queueCapacity,
+                             @Value("${point.async.max-in-flight:20000}") int maxInFlight) {
+        this.pointService = pointService;
+        this.hotKeyLanes = hotKeyLanes;
+        this.maxInFlight = maxInFlight;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.ioExecutor = new ThreadPoolExecutor(ioThreads, ioThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "point-io-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-io-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<UserPoint> getUserPoint(long id, RequestDeadline deadline) {
+        return submit(id, () -> pointService.getUserPoint(id, deadline));
+    }
+
+    public CompletableFuture<List<PointHistory>> getUserPointHistory(long id, RequestDeadline deadline) {
+        return submit(id, () -> pointService.getUserPointHistory(id, deadline));
+    }
+
+    public CompletableFuture<UserPoint> chargePoint(long id, long amount, RequestDeadline deadline) {
+        if (amount <= 0) {
+            return CompletableFuture.failedFuture(PointException.invalidAmount(amount));
+        }
+        HotKeyLanes.Lane lane = hotKeyLanes.route(id);
+        if (lane != null) {
+            return handOff(id, lane, () -> lane.charge(amount, deadline));
+        }
+        return submitWithoutBlocking(id, deadline, () -> pointService.tryChargePoint(id, amount, deadline));
+    }
+
+    public CompletableFuture<UserPoint> usePoint(long id, long amount, RequestDeadline deadline) {
+        if (amount <= 0) {
+            return CompletableFuture.failedFuture(PointException.invalidAmount(amount));
+        }
+        HotKeyLanes.Lane lane = hotKeyLanes.route(id);
+        if (lane != null) {
+            return handOff(id, lane, () -> lane.use(amount, deadline));
+        }
+        return submitWithoutBlocking(id, deadline, () -> pointService.tryUsePoint(id, amount, deadline));
+    }
+
+    // 같은 사용자의 직전 작업이 끝난 뒤 I/O 스레드 풀에서 실행
+    private <T> CompletableFuture<T> submit(long userId, Supplier<T> task) {
+        return enqueue(userId, (result, tail) -> () -> {
+            try {
+                result.complete(task.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            } finally {
+                finish(userId, tail);
+            }
+        });
+    }
+
+    // attempt 가 null 을 반환하면(사용자 락이 잡혀 있음) I/O 스레드를 놓고 잠시 뒤 다시 실행
+    private <T> CompletableFuture<T> submitWithoutBlocking(long userId, RequestDeadline deadline, Supplier<T> attempt) {
+        return enqueue(userId, (result, tail) -> new LockRetry<>(userId, deadline, attempt, result, tail));
+    }
+
+    private <T> CompletableFuture<T> enqueue(long userId, BiFunction<CompletableFuture<T>, Tail, Runnable> task) {
+        if (!reserve()) {
+            return CompletableFuture.failedFuture(PointException.of(PointException.ErrorCode.SERVER_BUSY));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Tail tail = new Tail(null, done, done);
+        Tail previous = tails.put(userId, tail);
+        Runnable run = task.apply(result, tail);
+
+        if (previous == null) {
+            dispatch(run, result, userId, tail);
+        } else {
+            previous.done().whenComplete((ignored, error) -> dispatch(run, result, userId, tail));
+        }
+        return result;
+    }
+
+    // 레인에 넘기는 작업, 직전 작업이 같은 레인이면 넘겨지는 대로, 아니면 끝난 뒤에 넘김
+    // 뒤의 작업은 이 작업과 앞선 작업이 모두 끝난 뒤에 실행
+    private <T> CompletableFuture<T> handOff(long userId, HotKeyLanes.Lane lane, Supplier<CompletableFuture<T>> task) {
+        if (!reserve()) {
+            return CompletableFuture.failedFuture(PointException.of(PointException.ErrorCode.SERVER_BUSY));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Tail tail = new Tail(lane, new CompletableFuture<>(), new CompletableFuture<>());
+        Tail previous = tails.put(userId, tail);
+        CompletableFuture<Void> previousDone = previous == null ? CompletableFuture.completedFuture(null) : previous.done();
+        CompletableFuture<Void> ready = previous != null && previous.lane() == lane ? previous.handedOff() : previousDone;
+
+        Runnable run = () -> {
+            CompletableFuture<T> laneResult;
+            try {
+                laneResult = task.get();
+            } catch (Throwable e) {
+                laneResult = CompletableFuture.failedFuture(e);
+            }
+            tail.handedOff().complete(null);
+            laneResult.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(error);
+                }
+            });
+            // 레인이 거절해 바로 끝난 작업에서 다음 작업을 같은 스택으로 이어 실행하지 않도록 다른 스레드에서 정리
+            CompletableFuture.allOf(laneResult, previousDone)
+                    .whenCompleteAsync((ignored, error) -> finish(userId, tail));
+        };
+
+        if (ready.isDone()) {
+            run.run();
+        } else {
+            ready.whenCompleteAsync((ignored, error) -> run.run());
+        }
+        return result;
+    }
+
+    private boolean reserve() {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void dispatch(Runnable run, CompletableFuture<?> result, long userId, Tail tail) {
+        try {
+            ioExecutor.execute(run);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(PointException.of(PointException.ErrorCode.SERVER_BUSY));
+            // 거절된 작업에서 다음 작업을 같은 스택으로 이어 실행하면 체인이 길 때 스택이 넘치므로 다른 스레드에서 이어감
+            release(userId, tail);
+            tail.done().completeAsync(() -> null);
+        }
+    }
+
+    private void finish(long userId, Tail tail) {
+        release(userId, tail);
+        tail.done().complete(null);
+    }
+
+    private void release(long userId, Tail tail) {
+        inFlight.decrementAndGet();
+        // 뒤에 이어진 작업이 없으면 체인 정리
+        tails.remove(userId, tail);
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        ioExecutor.shutdown();
+    }
+
+    private final class LockRetry<T> implements Runnable {
+        private final long userId;
+        private final RequestDeadline deadline;
+        private final Supplier<T> attempt;
+        private final CompletableFuture<T> result;
+        private final Tail tail;
+        private long backoffMicros = MIN_RETRY_MICROS;
+
+        private LockRetry(long userId, RequestDeadline deadline, Supplier<T> attempt, CompletableFuture<T> result, Tail tail) {
+            this.userId = userId;
+            this.deadline = deadline;
+            this.attempt = attempt;
+            this.result = result;
+            this.tail = tail;
+        }
+
+        @Override
+        public void run() {
+            T value;
+            try {
+                value = attempt.get();
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                finish(userId, tail);
+                return;
+            }
+            if (value != null) {
+                result.complete(value);
+                finish(userId, tail);
+                return;
+            }
+            // 마감 시각이 지나면 다음 시도에서 REQUEST_TIMEOUT
+            long delayMicros = Math.min(backoffMicros, Math.max(0L, TimeUnit.NANOSECONDS.toMicros(deadline.remainingNanos())));
+            backoffMicros = Math.min(backoffMicros * 2, MAX_RETRY_MICROS);
+            try {
+                retryScheduler.schedule(() -> dispatch(this, result, userId, tail), delayMicros, TimeUnit.MICROSECONDS);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(PointException.of(PointException.ErrorCode.SERVER_BUSY));
+                finish(userId, tail);
+            }
+        }
+    }
+
+    // lane 이 null 이면 I/O 스레드 풀 작업 (handedOff == done)
+    private record Tail(HotKeyLanes.Lane lane, CompletableFuture<Void> handedOff, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 충전/사용 금액 파라미터
+ * - ?amount= 쿼리 파라미터가 있으면 본문을 읽지 않고 사용
+ * - 없으면 요청 본문의 숫자 하나("500")를 메시지 컨버터 없이 직접 파싱
+ * 잘못된 입력은 PointException.invalidAmount 로 처리됩니다.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PointAmount {
+}
@@ -0,0 +1,137 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @PointAmount long 파라미터를 Jackson 메시지 컨버터를 거치지 않고 직접 파싱합니다.
+ * - 허용 형식 : 앞뒤 공백, 선택적인 부호, 숫자 (JSON 문자열처럼 큰따옴표로 감싼 값도 허용)
+ * - 금액이 0 이하인지는 기존처럼 PointService 에서 검사합니다.
+ */
+public class PointAmountArgumentResolver implements HandlerMethodArgumentResolver {
+    public static final String AMOUNT_PARAMETER = "amount";
+
+    // long 최댓값(19자리)과 부호, 따옴표, 공백을 담기에 충분한 크기
+    private static final int MAX_BODY_BYTES = 32;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(PointAmount.class) && (type == long.class || type == Long.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws IOException {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        if (request == null) {
+            throw PointException.invalidAmount("");
+        }
+        String queryAmount = queryParameter(request.getQueryString(), AMOUNT_PARAMETER);
+        if (queryAmount != null) {
+            byte[] bytes = queryAmount.getBytes(StandardCharsets.US_ASCII);
+            return parseAmount(bytes, bytes.length);
+        }
+
+        byte[] buffer = new byte[MAX_BODY_BYTES + 1];
+        int length = readBody(request.getInputStream(), buffer);
+        if (length > MAX_BODY_BYTES) {
+            throw PointException.invalidAmount(new String(buffer, 0, MAX_BODY_BYTES, StandardCharsets.US_ASCII) + "...");
+        }
+        return parseAmount(buffer, length);
+    }
+
+    // getParameter 는 폼 인코딩 요청이면 바디까지 읽어 버리므로 쿼리 스트링에서만 찾음
+    static String queryParameter(String queryString, String name) {
+        if (queryString == null) {
+            return null;
+        }
+        int from = 0;
+        while (from <= queryString.length()) {
+            int end = queryString.indexOf('&', from);
+            if (end < 0) {
+                end = queryString.length();
+            }
+            int separator = queryString.indexOf('=', from);
+            boolean hasValue = separator >= 0 && separator < end;
+            if (queryString.regionMatches(from, name, 0, name.length())
+                    && from + name.length() == (hasValue ? separator : end)) {
+                return hasValue ? decode(queryString.substring(separator + 1, end)) : "";
+            }
+            from = end + 1;
+        }
+        return null;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw PointException.invalidAmount(value);
+        }
+    }
+
+    private static int readBody(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+    static long parseAmount(byte[] bytes, int length) {
+        int start = 0;
+        int end = length;
+        while (start < end && isWhitespace(bytes[start])) {
+            start++;
+        }
+        while (end > start && isWhitespace(bytes[end - 1])) {
+            end--;
+        }
+        if (end - start >= 2 && bytes[start] == '"' && bytes[end - 1] == '"') {
+            start++;
+            end--;
+        }
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        if (i == end) {
+            throw invalid(bytes, length);
+        }
+
+        // 음수로 누적해서 Long.MIN_VALUE 까지 오버플로 없이 표현
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long result = 0L;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || result < (limit + digit) / 10) {
+                throw invalid(bytes, length);
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static PointException invalid(byte[] bytes, int length) {
+        return PointException.invalidAmount(new String(bytes, 0, length, StandardCharsets.US_ASCII).trim());
+    }
+}
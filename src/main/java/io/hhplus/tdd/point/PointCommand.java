@@ -0,0 +1,56 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 핫키 전용 레인에서 묶어서 처리하는 충전/사용 요청 한 건
+ * 처리 시작(start)과 취소(cancel)는 한 번만 성공하므로, 마감 시간이 지나 취소된 요청은 쓰기 없이 건너뜁니다.
+ */
+public final class PointCommand {
+    private final TransactionType type;
+    private final long amount;
+    private final RequestDeadline deadline;
+    private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private PointCommand(TransactionType type, long amount, RequestDeadline deadline) {
+        this.type = type;
+        this.amount = amount;
+        this.deadline = deadline;
+    }
+
+    public static PointCommand charge(long amount, RequestDeadline deadline) {
+        return new PointCommand(TransactionType.CHARGE, amount, deadline);
+    }
+
+    public static PointCommand use(long amount, RequestDeadline deadline) {
+        return new PointCommand(TransactionType.USE, amount, deadline);
+    }
+
+    public TransactionType type() {
+        return type;
+    }
+
+    public long amount() {
+        return amount;
+    }
+
+    public RequestDeadline deadline() {
+        return deadline;
+    }
+
+    public CompletableFuture<UserPoint> result() {
+        return result;
+    }
+
+    // 처리 시작, 이미 취소된 요청이면 false
+    boolean start() {
+        return claimed.compareAndSet(false, true);
+    }
+
+    // 처리 시작 전이면 취소, 이미 처리 중이면 false
+    public boolean cancel() {
+        return claimed.compareAndSet(false, true);
+    }
+}
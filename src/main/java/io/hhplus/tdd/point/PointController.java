@@ -1,7 +1,9 @@
 package io.hhplus.tdd.point;
+import io.hhplus.tdd.point.hotkey.HotKeyLanes;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -12,25 +14,67 @@ import java.util.List;
 public class PointController {
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Millis";
+    private static final int MAX_LEADERBOARD_LIMIT = 1000;
+
     private final PointService pointService;
+    private final HotKeyLanes hotKeyLanes;
+
+    @Value("${point.request.timeout-millis:3000}")
+    private long defaultTimeoutMillis;
+
+    @GetMapping("leaderboard")
+    public List<LeaderboardEntry> leaderboard(@RequestParam(defaultValue = "100") int limit) {
+        return pointService.getLeaderboard(Math.max(1, Math.min(limit, MAX_LEADERBOARD_LIMIT)));
+    }
+
+    @GetMapping("{id}/rank")
+    public LeaderboardEntry rank(@PathVariable long id) {
+        return pointService.getRank(id);
+    }
 
     @GetMapping("{id}")
-    public UserPoint point(@PathVariable long id) {
-        return pointService.getUserPoint(id);
+    public UserPoint point(@PathVariable long id,
+                           @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        return pointService.getUserPoint(id, deadline(timeoutMillis));
     }
 
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(@PathVariable long id) {
-        return pointService.getUserPointHistory(id);
+    public List<PointHistory> history(@PathVariable long id,
+                                      @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        return pointService.getUserPointHistory(id, deadline(timeoutMillis));
     }
 
     @PatchMapping("{id}/charge")
-    public UserPoint charge(@PathVariable long id, @RequestBody long amount) {
-        return pointService.chargePoint(id, amount);
+    public UserPoint charge(@PathVariable long id, @PointAmount long amount,
+                            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        RequestDeadline deadline = deadline(timeoutMillis);
+        // 핫키 사용자는 전용 레인에서 묶어서 처리
+        HotKeyLanes.Lane lane = hotKeyLanes.route(id);
+        if (lane != null) {
+            return lane.chargeAndWait(amount, deadline);
+        }
+        return pointService.chargePoint(id, amount, deadline);
     }
 
     @PatchMapping("{id}/use")
-    public UserPoint use(@PathVariable long id, @RequestBody long amount) {
-        return pointService.usePoint(id, amount);
+    public UserPoint use(@PathVariable long id, @PointAmount long amount,
+                         @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        RequestDeadline deadline = deadline(timeoutMillis);
+        HotKeyLanes.Lane lane = hotKeyLanes.route(id);
+        if (lane != null) {
+            return lane.useAndWait(amount, deadline);
+        }
+        return pointService.usePoint(id, amount, deadline);
+    }
+
+    @PostMapping("{fromId}/transfer/{toId}")
+    public PointTransfer transfer(@PathVariable long fromId, @PathVariable long toId, @PointAmount long amount,
+                                  @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        return pointService.transferPoint(fromId, toId, amount, deadline(timeoutMillis));
+    }
+
+    private RequestDeadline deadline(Long timeoutMillis) {
+        return RequestDeadline.fromHeader(timeoutMillis, defaultTimeoutMillis);
     }
 }
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 만료 시각이 지난 시간 버킷을 주기적으로 꺼내 사용자별로 포인트를 소멸시킵니다.
+ * - 한 사용자의 만료 lot 은 한 번에 묶어서 처리하고, 사용자 락은 tryLock 으로만 잡습니다.
+ * - 락을 얻지 못했거나 소멸 기록에 실패한 사용자는 다음 스윕으로 미룹니다.
+ */
+@Component
+public class PointExpirySweeper {
+    private static final Logger log = LoggerFactory.getLogger(PointExpirySweeper.class);
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    private final PointService pointService;
+    private final PointLotStore pointLotStore;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int workers;
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService workerPool;
+
+    public PointExpirySweeper(PointService pointService,
+                              PointLotStore pointLotStore,
+                              @Value("${point.expiry.enabled:true}") boolean enabled,
+                              @Value("${point.expiry.sweep-interval:10s}") Duration interval,
+                              @Value("${point.expiry.workers:4}") int workers) {
+        this.pointService = pointService;
+        this.pointLotStore = pointLotStore;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.workers = workers;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "point-expiry-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweepSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep(System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("point expiry sweep failed", e);
+        }
+    }
+
+    // 지난 버킷의 사용자 목록을 워커마다 구간 단위로 가져가 처리하고, 모두 끝날 때까지 기다림
+    public int sweep(long nowMillis) throws InterruptedException {
+        ExecutorService workerPool = this.workerPool;
+        if (workerPool == null) {
+            throw new IllegalStateException("point expiry sweeper is not started");
+        }
+        List<Long> userIds = pointLotStore.pollDueUsers(nowMillis);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        // 사용자마다 작업을 만들지 않고 워커 수만큼만 제출, 구간은 워커당 여러 번 나눠 가져가서 느린 사용자에 덜 묶이게 함
+        int chunkSize = Math.max(1, userIds.size() / (workers * CHUNKS_PER_WORKER));
+        AtomicInteger cursor = new AtomicInteger();
+        int tasks = Math.min(workers, (userIds.size() + chunkSize - 1) / chunkSize);
+        List<Future<?>> futures = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            futures.add(workerPool.submit(() -> expireChunks(userIds, cursor, chunkSize, nowMillis)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                log.warn("point expiry worker failed", e.getCause());
+            }
+        }
+        return userIds.size();
+    }
+
+    private void expireChunks(List<Long> userIds, AtomicInteger cursor, int chunkSize, long nowMillis) {
+        int from;
+        while ((from = cursor.getAndAdd(chunkSize)) < userIds.size()) {
+            int to = Math.min(from + chunkSize, userIds.size());
+            for (int i = from; i < to; i++) {
+                expire(userIds.get(i), nowMillis);
+            }
+        }
+    }
+
+    // 락을 얻지 못했거나 기록 중 실패하면 lot 이 남아 있으므로 다음 스윕에서 다시 보도록 등록
+    private void expire(long userId, long nowMillis) {
+        boolean expired;
+        try {
+            expired = pointService.expirePoints(userId, nowMillis);
+        } catch (RuntimeException e) {
+            log.warn("point expiry failed: userId={}", userId, e);
+            expired = false;
+        }
+        if (!expired) {
+            pointLotStore.reschedule(userId, nowMillis);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            workerPool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 포인트 잔액 순위 인덱스
+ * - 잔액 내림차순, 같은 잔액이면 userId 오름차순으로 정렬된 skip list 입니다.
+ * - 각 링크에 건너뛰는 노드 수(span)를 함께 저장해 순위 조회도 O(log n) 입니다.
+ * - 동시 자료구조가 아니라 읽기/쓰기 락 하나로 보호하므로 갱신끼리는 전역으로 직렬화됩니다.
+ * - PointService 가 사용자 락 안에서 잔액을 바꾸며 nextVersion() 으로 버전을 받고, 락을 푼 뒤 update() 로 갱신합니다.
+ *   (인덱스 전체 쓰기 락을 사용자 락 안에서 잡지 않도록, 순서가 뒤바뀐 이전 버전의 갱신은 무시합니다)
+ *   UserPointTable 에는 목록 API 가 없으므로 애플리케이션 시작 이후 잔액이 바뀐 사용자만 포함됩니다.
+ */
+@Component
+public class PointLeaderboard {
+    private static final int MAX_LEVEL = 32;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong versions = new AtomicLong();
+    private final Map<Long, Node> nodes = new HashMap<>();
+    private final Node head = new Node(0L, 0L, MAX_LEVEL);
+    private int level = 1;
+    private int size = 0;
+    // 갱신 경로의 탐색 결과를 담는 작업 배열, 쓰기 락 안에서만 사용하므로 공유해서 재사용
+    private final Node[] path = new Node[MAX_LEVEL];
+    private final int[] pathRank = new int[MAX_LEVEL];
+
+    // 사용자 락 안에서 발급하므로 같은 사용자의 버전은 잔액을 바꾼 순서대로 증가
+    public long nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    public void update(long userId, long point) {
+        update(userId, point, nextVersion());
+    }
+
+    public void update(long userId, long point, long version) {
+        lock.writeLock().lock();
+        try {
+            Node previous = nodes.get(userId);
+            if (previous != null) {
+                if (previous.version >= version) {
+                    return;
+                }
+                if (previous.point == point) {
+                    previous.version = version;
+                    return;
+                }
+                delete(previous.point, userId);
+            }
+            Node node = insert(point, userId);
+            node.version = version;
+            nodes.put(userId, node);
+        } finally {
+            // 삭제된 노드를 붙잡고 있지 않도록 비움
+            Arrays.fill(path, null);
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 상위 limit 명, O(log n + limit)
+    public List<LeaderboardEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, size));
+            Node x = head.next[0];
+            long rank = 1;
+            while (x != null && rank <= limit) {
+                entries.add(new LeaderboardEntry(rank++, x.userId, x.point));
+                x = x.next[0];
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 한 사용자의 순위, O(log n)
+    public Optional<LeaderboardEntry> rankOf(long userId) {
+        lock.readLock().lock();
+        try {
+            Node node = nodes.get(userId);
+            if (node == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new LeaderboardEntry(rank(node.point, userId), userId, node.point));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 정렬 순서상 node 가 (point, userId) 보다 앞에 있는지
+    private static boolean before(Node node, long point, long userId) {
+        return node.point > point || (node.point == point && node.userId < userId);
+    }
+
+    private Node insert(long point, long userId) {
+        Node[] update = path;
+        int[] rank = pathRank;
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], point, userId)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(point, userId, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+        return node;
+    }
+
+    private void delete(long point, long userId) {
+        Node[] update = path;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], point, userId)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node target = x.next[0];
+        if (target == null || target.point != point || target.userId != userId) {
+            return;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    private long rank(long point, long userId) {
+        long rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && (before(x.next[i], point, userId)
+                    || (x.next[i].point == point && x.next[i].userId == userId))) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && x.point == point && x.userId == userId) {
+                return rank;
+            }
+        }
+        return 0;
+    }
+
+    // 레벨이 하나 올라갈 확률 1/4
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && (ThreadLocalRandom.current().nextInt() & 3) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node {
+        final long point;
+        final long userId;
+        final Node[] next;
+        final int[] span;
+        long version;
+
+        Node(long point, long userId, int level) {
+            this.point = point;
+            this.userId = userId;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 유효기간이 있는 포인트 묶음(lot) 저장소
+ * - 충전 한 건마다 lot 이 쌓이고, 사용은 만료가 빠른 lot 부터 차감합니다.
+ *   같은 시간 버킷에 만료되는 lot 은 하나로 합치므로 사용자별 lot 수는 유효기간 안의 버킷 수를 넘지 않습니다.
+ * - 이체로 받은 포인트는 보낸 사용자의 lot 만료 시각을 그대로 이어받습니다. (이체로 유효기간이 늘어나지 않음)
+ * - 잔액은 기존처럼 UserPointTable 에 있으므로 잔액 조회 비용은 그대로 O(1) 입니다.
+ *   lot 이 생기기 전부터 있던 잔액은 만료되지 않는 잔액으로 취급합니다.
+ * - 만료 예정 사용자는 시간 버킷(bucketMillis 단위) 인덱스에 등록되어, 스위퍼가 지난 버킷만 꺼내 처리합니다.
+ *
+ * 사용자별 lot 은 PointService 의 사용자 락 안에서만 변경됩니다.
+ */
+@Component
+public class PointLotStore {
+    private final long ttlMillis;
+    private final long bucketMillis;
+
+    // 사용자별 만료 버킷 -> 해당 버킷에 만료되는 lot
+    private final Map<Long, TreeMap<Long, PointLot>> lots = new ConcurrentHashMap<>();
+    // 버킷 시작 시각 / bucketMillis -> 해당 버킷에 만료되는 lot 이 있는 사용자
+    private final ConcurrentSkipListMap<Long, Set<Long>> buckets = new ConcurrentSkipListMap<>();
+
+    public PointLotStore(@Value("${point.expiry.ttl:365d}") Duration ttl,
+                         @Value("${point.expiry.bucket:1m}") Duration bucket) {
+        this.ttlMillis = ttl.toMillis();
+        this.bucketMillis = bucket.toMillis();
+    }
+
+    public void addLot(long userId, long amount, long nowMillis) {
+        addLotExpiringAt(userId, amount, nowMillis + ttlMillis);
+    }
+
+    // 만료가 빠른 lot 부터 차감 (lot 합계보다 많이 쓰면 나머지는 만료되지 않는 잔액에서 차감된 것으로 봄)
+    public void consume(long userId, long amount) {
+        consume(userId, amount, null);
+    }
+
+    // 보낸 사용자에서 차감한 lot 을 만료 시각 그대로 받는 사용자에게 옮김
+    public void transfer(long fromId, long toId, long amount) {
+        consume(fromId, amount, toId);
+    }
+
+    // nowMillis 까지 만료된 lot 들의 남은 포인트 합계 (lot 은 그대로 둠)
+    public long expiredAmount(long userId, long nowMillis) {
+        TreeMap<Long, PointLot> userLots = lots.get(userId);
+        if (userLots == null) {
+            return 0L;
+        }
+        long expired = 0L;
+        for (PointLot lot : userLots.values()) {
+            if (lot.expireAt > nowMillis) {
+                break;
+            }
+            expired += lot.remaining;
+        }
+        return expired;
+    }
+
+    // nowMillis 까지 만료된 lot 들을 제거하고 남아 있던 포인트 합계를 반환
+    public long expire(long userId, long nowMillis) {
+        TreeMap<Long, PointLot> userLots = lots.get(userId);
+        if (userLots == null) {
+            return 0L;
+        }
+        long expired = 0L;
+        while (!userLots.isEmpty() && userLots.firstEntry().getValue().expireAt <= nowMillis) {
+            expired += userLots.pollFirstEntry().getValue().remaining;
+        }
+        if (userLots.isEmpty()) {
+            lots.remove(userId, userLots);
+        } else {
+            // 다음 만료 시각의 버킷에 다시 등록
+            register(userId, userLots.firstEntry().getValue().expireAt);
+        }
+        return expired;
+    }
+
+    // nowMillis 가 속한 버킷까지 꺼내서 대상 사용자 목록을 반환 (한 사용자가 여러 번 나올 수 있음)
+    public List<Long> pollDueUsers(long nowMillis) {
+        ConcurrentNavigableMap<Long, Set<Long>> due = buckets.headMap(nowMillis / bucketMillis, true);
+        List<Long> userIds = new ArrayList<>();
+        Map.Entry<Long, Set<Long>> entry;
+        while ((entry = due.pollFirstEntry()) != null) {
+            userIds.addAll(entry.getValue());
+        }
+        return userIds;
+    }
+
+    // 지금 처리하지 못한 사용자를 다음 스윕에서 다시 보도록 등록
+    public void reschedule(long userId, long nowMillis) {
+        register(userId, nowMillis);
+    }
+
+    // 스위퍼가 버킷을 꺼내는 중이어도 등록이 유실되지 않도록 compute 로 추가
+    // (꺼내진 버킷에 추가되면 compute 가 재시도되어 새 버킷에 등록됨)
+    private void register(long userId, long expireAt) {
+        buckets.compute(expireAt / bucketMillis, (k, users) -> {
+            Set<Long> target = users != null ? users : ConcurrentHashMap.newKeySet();
+            target.add(userId);
+            return target;
+        });
+    }
+
+    private void addLotExpiringAt(long userId, long amount, long expireAt) {
+        TreeMap<Long, PointLot> userLots = lots.computeIfAbsent(userId, k -> new TreeMap<>());
+        PointLot lot = userLots.get(expireAt / bucketMillis);
+        if (lot != null) {
+            // 같은 버킷이면 합치고, 만료 시각은 늦은 쪽을 따름 (버킷 크기 이내로만 늦어짐)
+            lot.remaining += amount;
+            lot.expireAt = Math.max(lot.expireAt, expireAt);
+            return;
+        }
+        userLots.put(expireAt / bucketMillis, new PointLot(amount, expireAt));
+        register(userId, expireAt);
+    }
+
+    private void consume(long userId, long amount, Long receiverId) {
+        TreeMap<Long, PointLot> userLots = lots.get(userId);
+        if (userLots == null) {
+            return;
+        }
+        long remaining = amount;
+        while (remaining > 0 && !userLots.isEmpty()) {
+            PointLot lot = userLots.firstEntry().getValue();
+            long used = Math.min(lot.remaining, remaining);
+            lot.remaining -= used;
+            remaining -= used;
+            if (lot.remaining == 0) {
+                userLots.pollFirstEntry();
+            }
+            if (receiverId != null) {
+                addLotExpiringAt(receiverId, used, lot.expireAt);
+            }
+        }
+        if (userLots.isEmpty()) {
+            lots.remove(userId, userLots);
+        }
+    }
+
+    private static final class PointLot {
+        long expireAt;
+        long remaining;
+
+        PointLot(long amount, long expireAt) {
+            this.remaining = amount;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -3,65 +3,230 @@ package io.hhplus.tdd.point;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.export.PointHistoryExportLog;
+import io.hhplus.tdd.point.monitoring.PointLockEvent;
+import io.hhplus.tdd.point.monitoring.PointOperationEvent;
+import io.hhplus.tdd.point.monitoring.PointTableEvent;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
 public class PointService {
+    private static final Logger log = LoggerFactory.getLogger(PointService.class);
+
     private final UserPointTable userPointTable;
     private final PointHistoryTable pointHistoryTable;
+    private final PointLeaderboard pointLeaderboard;
+    private final PointLotStore pointLotStore;
+    private final PointHistoryExportLog pointHistoryExportLog;
 
     private final ConcurrentHashMap<Long, ReentrantLock> lockMap = new ConcurrentHashMap<>();
     private ReentrantLock lockFor(long userId) {
         return lockMap.computeIfAbsent(userId, k -> new ReentrantLock());
     }
+
+    // 마감 시각까지만 락을 기다림 (마감 시각이 없으면 기존처럼 무한 대기)
+    private void acquire(ReentrantLock lock, long userId, RequestDeadline deadline) {
+        PointLockEvent event = new PointLockEvent();
+        event.begin();
+        if (!deadline.isBounded()) {
+            lock.lock();
+            event.finish(userId, true);
+            return;
+        }
+        boolean acquired = false;
+        try {
+            acquired = lock.tryLock(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            event.finish(userId, acquired);
+        }
+        if (!acquired) {
+            throw PointException.requestTimeout(userId);
+        }
+    }
+
+    // waitForLock 이 false 면 락이 잡혀 있을 때 기다리지 않고 false 반환 (마감 시각이 지났으면 REQUEST_TIMEOUT)
+    private boolean lock(ReentrantLock lock, long userId, RequestDeadline deadline, boolean waitForLock) {
+        if (waitForLock) {
+            acquire(lock, userId, deadline);
+            return true;
+        }
+        checkDeadline(userId, deadline);
+        return lock.tryLock();
+    }
+
+    // 이미 마감 시각이 지난 요청이면 테이블 호출 전에 중단
+    private void checkDeadline(long userId, RequestDeadline deadline) {
+        if (deadline.isExpired()) {
+            throw PointException.requestTimeout(userId);
+        }
+    }
+
+    // 테이블 호출마다 JFR 이벤트 기록 (레코딩이 꺼져 있으면 비용이 거의 없음)
+    private UserPoint selectUserPoint(long id) {
+        PointTableEvent event = new PointTableEvent();
+        event.begin();
+        try {
+            return userPointTable.selectById(id);
+        } finally {
+            event.finish("UserPointTable", "selectById", id);
+        }
+    }
+
+    private void updateUserPoint(long id, long point) {
+        PointTableEvent event = new PointTableEvent();
+        event.begin();
+        try {
+            userPointTable.insertOrUpdate(id, point);
+        } finally {
+            event.finish("UserPointTable", "insertOrUpdate", id);
+        }
+    }
+
+    // 저장된 히스토리는 내보내기 로그의 쓰기 큐에 넣음 (파일 쓰기는 로그의 쓰기 스레드가 사용자 락 밖에서 함,
+    // 큐에는 사용자 락 안에서 넣으므로 같은 사용자의 히스토리 순서가 유지됨)
+    private void insertHistory(long id, long amount, TransactionType type, long updateMillis) {
+        PointTableEvent event = new PointTableEvent();
+        event.begin();
+        PointHistory history;
+        try {
+            history = pointHistoryTable.insert(id, amount, type, updateMillis);
+        } finally {
+            event.finish("PointHistoryTable", "insert", id);
+        }
+        pointHistoryExportLog.enqueue(history);
+    }
+
+    private List<PointHistory> selectHistories(long id) {
+        PointTableEvent event = new PointTableEvent();
+        event.begin();
+        try {
+            return pointHistoryTable.selectAllByUserId(id);
+        } finally {
+            event.finish("PointHistoryTable", "selectAllByUserId", id);
+        }
+    }
+
     public UserPoint getUserPoint(long id) {
-        return userPointTable.selectById(id);
+        return getUserPoint(id, RequestDeadline.none());
+    }
+
+    public UserPoint getUserPoint(long id, RequestDeadline deadline) {
+        checkDeadline(id, deadline);
+        return selectUserPoint(id);
     }
 
     public List<PointHistory> getUserPointHistory(long id) {
-        return pointHistoryTable.selectAllByUserId(id);
+        return getUserPointHistory(id, RequestDeadline.none());
+    }
+
+    public List<PointHistory> getUserPointHistory(long id, RequestDeadline deadline) {
+        checkDeadline(id, deadline);
+        return selectHistories(id);
+    }
+
+    public List<LeaderboardEntry> getLeaderboard(int limit) {
+        return pointLeaderboard.top(limit);
+    }
+
+    public LeaderboardEntry getRank(long id) {
+        return pointLeaderboard.rankOf(id).orElseThrow(() -> PointException.userNotFound(id));
     }
 
     public UserPoint chargePoint(long id, long amount) {
+        return chargePoint(id, amount, RequestDeadline.none());
+    }
+
+    public UserPoint chargePoint(long id, long amount, RequestDeadline deadline) {
+        return operation("CHARGE", id, amount, () -> charge(id, amount, deadline, true));
+    }
+
+    /**
+     * 비동기 API 용 충전, 사용자 락이 다른 요청에 잡혀 있으면 기다리지 않고 null 을 반환합니다.
+     * (호출한 쪽에서 스레드를 놓고 나중에 다시 시도)
+     */
+    public UserPoint tryChargePoint(long id, long amount, RequestDeadline deadline) {
+        return operation("CHARGE", id, amount, () -> charge(id, amount, deadline, false));
+    }
+
+    private UserPoint charge(long id, long amount, RequestDeadline deadline, boolean waitForLock) {
         if (amount <= 0) {
             throw PointException.invalidAmount(amount);
         }
-        
+
+        UserPoint result;
+        long version;
         ReentrantLock lock = lockFor(id);
-        lock.lock();
+        if (!lock(lock, id, deadline, waitForLock)) {
+            return null;
+        }
         try {
-            UserPoint userPointInfo = userPointTable.selectById(id);
+            checkDeadline(id, deadline);
+            UserPoint userPointInfo = selectUserPoint(id);
             if (userPointInfo == null) {
                 throw PointException.userNotFound(id);
             }
 
+            // 히스토리 저장과 포인트 갱신은 함께 처리되어야 하므로 쓰기 시작 전에만 확인
+            checkDeadline(id, deadline);
             long now = System.currentTimeMillis();
-            pointHistoryTable.insert(id, amount, TransactionType.CHARGE, now);
+            insertHistory(id, amount, TransactionType.CHARGE, now);
 
             long newAmount = userPointInfo.point() + amount;
-            userPointTable.insertOrUpdate(id, newAmount);
+            updateUserPoint(id, newAmount);
+            version = pointLeaderboard.nextVersion();
+            pointLotStore.addLot(id, amount, now);
 
-            return new UserPoint(id, newAmount, now);
+            result = new UserPoint(id, newAmount, now);
         } finally {
             lock.unlock();
         }
+        // 순위 인덱스는 사용자 락 밖에서 갱신
+        pointLeaderboard.update(id, result.point(), version);
+        return result;
     }
 
     public UserPoint usePoint(long id, long amount) {
+        return usePoint(id, amount, RequestDeadline.none());
+    }
+
+    public UserPoint usePoint(long id, long amount, RequestDeadline deadline) {
+        return operation("USE", id, amount, () -> use(id, amount, deadline, true));
+    }
+
+    /**
+     * 비동기 API 용 사용, 사용자 락이 다른 요청에 잡혀 있으면 기다리지 않고 null 을 반환합니다.
+     */
+    public UserPoint tryUsePoint(long id, long amount, RequestDeadline deadline) {
+        return operation("USE", id, amount, () -> use(id, amount, deadline, false));
+    }
+
+    private UserPoint use(long id, long amount, RequestDeadline deadline, boolean waitForLock) {
         if (amount <= 0) {
             throw PointException.invalidAmount(amount);
         }
-        
+
+        UserPoint result;
+        long version;
         ReentrantLock lock = lockFor(id);
-        lock.lock();
+        if (!lock(lock, id, deadline, waitForLock)) {
+            return null;
+        }
         try {
-            UserPoint userPointInfo = userPointTable.selectById(id);
+            checkDeadline(id, deadline);
+            UserPoint userPointInfo = selectUserPoint(id);
             if (userPointInfo == null) {
                 throw PointException.userNotFound(id);
             }
@@ -69,15 +234,332 @@ public class PointService {
                 throw PointException.insufficientPoint(id, amount, userPointInfo.point());
             }
 
+            checkDeadline(id, deadline);
             long now = System.currentTimeMillis();
-            pointHistoryTable.insert(id, amount, TransactionType.USE, now);
+            insertHistory(id, amount, TransactionType.USE, now);
 
             long useResult = userPointInfo.point() - amount;
-            userPointTable.insertOrUpdate(id, useResult);
+            updateUserPoint(id, useResult);
+            version = pointLeaderboard.nextVersion();
+            pointLotStore.consume(id, amount);
 
-            return new UserPoint(id, useResult, now);
+            result = new UserPoint(id, useResult, now);
         } finally {
             lock.unlock();
         }
+        pointLeaderboard.update(id, result.point(), version);
+        return result;
+    }
+
+    public PointTransfer transferPoint(long fromId, long toId, long amount) {
+        return transferPoint(fromId, toId, amount, RequestDeadline.none());
+    }
+
+    public PointTransfer transferPoint(long fromId, long toId, long amount, RequestDeadline deadline) {
+        return operation("TRANSFER", fromId, amount, () -> transfer(fromId, toId, amount, deadline));
+    }
+
+    // 처리 한 건을 JFR 이벤트로 기록 (락을 잡지 못해 다시 시도할 요청(null)은 기록하지 않음)
+    private <T> T operation(String operation, long userId, long amount, Supplier<T> body) {
+        PointOperationEvent event = new PointOperationEvent();
+        event.begin();
+        T result = null;
+        String errorCode = null;
+        try {
+            result = body.get();
+            return result;
+        } catch (PointException e) {
+            errorCode = e.getErrorCodeString();
+            throw e;
+        } catch (RuntimeException e) {
+            errorCode = e.getClass().getName();
+            throw e;
+        } finally {
+            if (result != null || errorCode != null) {
+                event.finish(operation, userId, amount, errorCode);
+            }
+        }
+    }
+
+    private PointTransfer transfer(long fromId, long toId, long amount, RequestDeadline deadline) {
+        if (amount <= 0) {
+            throw PointException.invalidAmount(amount);
+        }
+        if (fromId == toId) {
+            throw PointException.invalidTransfer(fromId, toId);
+        }
+
+        // 두 사용자의 락을 항상 id 오름차순으로 잡아 교착 상태를 방지
+        long firstId = Math.min(fromId, toId);
+        long secondId = Math.max(fromId, toId);
+        ReentrantLock firstLock = lockFor(firstId);
+        ReentrantLock secondLock = lockFor(secondId);
+        PointTransfer result;
+        long version;
+        acquire(firstLock, firstId, deadline);
+        try {
+            acquire(secondLock, secondId, deadline);
+            try {
+                checkDeadline(fromId, deadline);
+                UserPoint fromPointInfo = selectUserPoint(fromId);
+                if (fromPointInfo == null) {
+                    throw PointException.userNotFound(fromId);
+                }
+                if (fromPointInfo.point() < amount) {
+                    throw PointException.insufficientPoint(fromId, amount, fromPointInfo.point());
+                }
+                UserPoint toPointInfo = selectUserPoint(toId);
+                if (toPointInfo == null) {
+                    throw PointException.userNotFound(toId);
+                }
+
+                // 차감과 적립은 두 락 안에서 함께 기록
+                checkDeadline(fromId, deadline);
+                long now = System.currentTimeMillis();
+                insertHistory(fromId, amount, TransactionType.TRANSFER_OUT, now);
+                insertHistory(toId, amount, TransactionType.TRANSFER_IN, now);
+
+                long fromResult = fromPointInfo.point() - amount;
+                long toResult = toPointInfo.point() + amount;
+                updateUserPoint(fromId, fromResult);
+                updateUserPoint(toId, toResult);
+                version = pointLeaderboard.nextVersion();
+                pointLotStore.transfer(fromId, toId, amount);
+
+                result = new PointTransfer(new UserPoint(fromId, fromResult, now), new UserPoint(toId, toResult, now));
+            } finally {
+                secondLock.unlock();
+            }
+        } finally {
+            firstLock.unlock();
+        }
+        // 두 사용자 모두 같은 버전으로 갱신 (각 사용자의 다음 변경은 더 큰 버전을 받음)
+        pointLeaderboard.update(fromId, result.from().point(), version);
+        pointLeaderboard.update(toId, result.to().point(), version);
+        return result;
+    }
+
+    /**
+     * 같은 사용자의 충전/사용 여러 건을 락 한 번, 잔액 조회/갱신 한 번으로 처리합니다. (핫키 전용 레인에서 호출)
+     * - 잔액을 먼저 갱신하고, 성공한 뒤에 요청마다 히스토리를 한 건씩 남기고 결과를 완료합니다.
+     * - 실패한 요청(금액 오류, 잔액 부족, 마감 시간 초과)만 실패시키고 나머지는 계속 처리합니다.
+     * - 히스토리 저장이 중간에 실패하면 그 요청부터는 잔액에서 되돌리고 실패시킵니다. (앞선 요청은 그대로 완료)
+     * - 락은 묶음에서 가장 이른 마감 시각까지만 기다리고, JFR 에는 묶음 하나를 BATCH 이벤트 한 건(금액 합계)으로 남깁니다.
+     */
+    public void processBatch(long id, List<PointCommand> commands) {
+        long total = 0L;
+        for (PointCommand command : commands) {
+            total += command.amount();
+        }
+        operation("BATCH", id, total, () -> {
+            batch(id, commands);
+            // 묶음마다 BATCH 이벤트가 남도록 null 이 아닌 값을 반환
+            return Boolean.TRUE;
+        });
+    }
+
+    private void batch(long id, List<PointCommand> commands) {
+        long balance;
+        long version;
+        ReentrantLock lock = lockFor(id);
+        List<PointCommand> locked = lockForBatch(lock, id, commands);
+        if (locked.isEmpty()) {
+            return;
+        }
+        try {
+            UserPoint userPointInfo = selectUserPoint(id);
+            if (userPointInfo == null) {
+                PointException notFound = PointException.userNotFound(id);
+                locked.forEach(command -> command.result().completeExceptionally(notFound));
+                return;
+            }
+
+            balance = userPointInfo.point();
+            List<PointCommand> applied = new ArrayList<>(locked.size());
+            List<UserPoint> results = new ArrayList<>(locked.size());
+            for (PointCommand command : locked) {
+                if (!command.start()) {
+                    continue;
+                }
+                try {
+                    checkDeadline(id, command.deadline());
+                    long amount = command.amount();
+                    if (amount <= 0) {
+                        throw PointException.invalidAmount(amount);
+                    }
+                    boolean charge = command.type() == TransactionType.CHARGE;
+                    if (!charge && balance < amount) {
+                        throw PointException.insufficientPoint(id, amount, balance);
+                    }
+                    balance = charge ? balance + amount : balance - amount;
+                    applied.add(command);
+                    results.add(new UserPoint(id, balance, System.currentTimeMillis()));
+                } catch (PointException e) {
+                    command.result().completeExceptionally(e);
+                }
+            }
+            if (applied.isEmpty()) {
+                return;
+            }
+
+            // 잔액 갱신이 실패하면 아무것도 쓰지 않았으므로 모두 실패
+            try {
+                updateUserPoint(id, balance);
+            } catch (RuntimeException e) {
+                applied.forEach(command -> command.result().completeExceptionally(e));
+                return;
+            }
+            for (int i = 0; i < applied.size(); i++) {
+                PointCommand command = applied.get(i);
+                UserPoint result = results.get(i);
+                try {
+                    insertHistory(id, command.amount(), command.type(), result.updateMillis());
+                } catch (RuntimeException e) {
+                    balance = revertUnrecorded(id, applied, results, i, userPointInfo.point(), e);
+                    break;
+                }
+                applyLot(id, command, result.updateMillis());
+                command.result().complete(result);
+            }
+            version = pointLeaderboard.nextVersion();
+        } finally {
+            lock.unlock();
+        }
+        pointLeaderboard.update(id, balance, version);
+    }
+
+    // 묶음에서 가장 이른 마감 시각까지 락을 기다리고, 시간이 지나면 마감이 지난 요청만 REQUEST_TIMEOUT 으로 실패시킨 뒤
+    // 남은 요청으로 다시 기다림 (락을 얻으면 남은 요청 목록을, 남은 요청이 없으면 락 없이 빈 목록을 반환)
+    private List<PointCommand> lockForBatch(ReentrantLock lock, long id, List<PointCommand> commands) {
+        List<PointCommand> waiting = commands;
+        while (true) {
+            RequestDeadline earliest = RequestDeadline.none();
+            for (PointCommand command : waiting) {
+                if (command.deadline().remainingNanos() < earliest.remainingNanos()) {
+                    earliest = command.deadline();
+                }
+            }
+            try {
+                acquire(lock, id, earliest);
+                return waiting;
+            } catch (PointException e) {
+                List<PointCommand> remaining = new ArrayList<>(waiting.size());
+                for (PointCommand command : waiting) {
+                    if (command.deadline().isExpired()) {
+                        if (command.start()) {
+                            command.result().completeExceptionally(e);
+                        }
+                    } else {
+                        remaining.add(command);
+                    }
+                }
+                // 마감이 지난 요청 없이 실패했으면(인터럽트) 남은 요청도 모두 실패
+                if (remaining.size() == waiting.size()) {
+                    remaining.forEach(command -> {
+                        if (command.start()) {
+                            command.result().completeExceptionally(e);
+                        }
+                    });
+                    return List.of();
+                }
+                waiting = remaining;
+                if (waiting.isEmpty()) {
+                    return waiting;
+                }
+            }
+        }
+    }
+
+    // 히스토리를 남기지 못한 요청부터 잔액을 되돌리고 실패시킴, 최종 잔액을 반환
+    // (되돌리기도 실패하면 잔액에는 이미 반영되었으므로 히스토리 누락을 로그로 남기고 성공으로 완료)
+    private long revertUnrecorded(long id, List<PointCommand> applied, List<UserPoint> results, int from,
+                                  long initialBalance, RuntimeException cause) {
+        long recordedBalance = from == 0 ? initialBalance : results.get(from - 1).point();
+        try {
+            updateUserPoint(id, recordedBalance);
+        } catch (RuntimeException e) {
+            long appliedBalance = results.get(results.size() - 1).point();
+            log.error("point batch history insert failed and balance could not be reverted: userId={}, balance={}, missingHistories={}",
+                    id, appliedBalance, applied.size() - from, e);
+            for (int i = from; i < applied.size(); i++) {
+                applyLot(id, applied.get(i), results.get(i).updateMillis());
+                applied.get(i).result().complete(results.get(i));
+            }
+            return appliedBalance;
+        }
+        for (int i = from; i < applied.size(); i++) {
+            applied.get(i).result().completeExceptionally(cause);
+        }
+        return recordedBalance;
+    }
+
+    private void applyLot(long id, PointCommand command, long nowMillis) {
+        if (command.type() == TransactionType.CHARGE) {
+            pointLotStore.addLot(id, command.amount(), nowMillis);
+        } else {
+            pointLotStore.consume(id, command.amount());
+        }
+    }
+
+    /**
+     * 유효기간이 지난 lot 을 소멸시키고 EXPIRE 히스토리를 남깁니다.
+     * 만료 스위퍼가 호출하며, 사용자 요청이 처리 중이면 기다리지 않고 false 를 반환합니다.
+     * lot 은 잔액과 히스토리 기록이 모두 끝난 뒤에 제거하므로, 기록 중 예외가 나면 lot 이 남아 다음 스윕에서 다시 소멸됩니다.
+     */
+    public boolean expirePoints(long id, long nowMillis) {
+        long expireResult;
+        long version;
+        ReentrantLock lock = lockFor(id);
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            long expired = pointLotStore.expiredAmount(id, nowMillis);
+            if (expired <= 0) {
+                // 만료된 lot 이 없어도 다음 만료 버킷 등록은 expire 가 맡음
+                pointLotStore.expire(id, nowMillis);
+                return true;
+            }
+            UserPoint userPointInfo = selectUserPoint(id);
+            long amount = expired;
+            if (expired > userPointInfo.point()) {
+                // lot 합계는 잔액을 넘을 수 없으므로, 넘는다면 lot 과 잔액이 어긋난 것
+                log.warn("expired point lots exceed balance: userId={}, expired={}, balance={}",
+                        id, expired, userPointInfo.point());
+                amount = userPointInfo.point();
+            }
+            if (amount <= 0) {
+                pointLotStore.expire(id, nowMillis);
+                return true;
+            }
+
+            // 잔액을 먼저 반영하고 만료된 lot 여러 개를 히스토리 한 건으로 묶어서 기록
+            expireResult = userPointInfo.point() - amount;
+            updateUserPoint(id, expireResult);
+            try {
+                insertHistory(id, amount, TransactionType.EXPIRE, nowMillis);
+            } catch (RuntimeException e) {
+                revertExpire(id, userPointInfo.point(), expireResult, amount, e);
+            }
+            pointLotStore.expire(id, nowMillis);
+            version = pointLeaderboard.nextVersion();
+        } finally {
+            lock.unlock();
+        }
+        pointLeaderboard.update(id, expireResult, version);
+        return true;
+    }
+
+    // 히스토리를 남기지 못하면 잔액을 되돌리고 예외를 다시 던짐 (lot 은 그대로 남음)
+    // (되돌리기도 실패하면 잔액에는 이미 반영되었으므로 히스토리 누락을 로그로 남기고 소멸을 마무리)
+    private void revertExpire(long id, long balance, long expireResult, long amount, RuntimeException cause) {
+        try {
+            updateUserPoint(id, balance);
+        } catch (RuntimeException e) {
+            log.error("point expire history insert failed and balance could not be reverted: userId={}, balance={}, expired={}",
+                    id, expireResult, amount, e);
+            return;
+        }
+        throw cause;
     }
 }
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 결과
+ * - from : 이체 후 보낸 사용자 포인트
+ * - to : 이체 후 받은 사용자 포인트
+ */
+public record PointTransfer(
+        UserPoint from,
+        UserPoint to
+) {
+}
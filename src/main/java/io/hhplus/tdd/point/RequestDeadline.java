@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 처리 마감 시각
+ * - 클라이언트가 이미 포기한 요청에 대해 락 대기나 테이블 호출을 하지 않기 위해 사용합니다.
+ * - System.nanoTime() 기준이므로 같은 JVM 안에서만 의미가 있습니다.
+ */
+public final class RequestDeadline {
+    private static final RequestDeadline NONE = new RequestDeadline(0L, false);
+    // nanoTime 에 더해도 넘치지 않도록 마감 시간 상한을 둠 (헤더로 큰 값이 들어오는 경우)
+    static final long MAX_TIMEOUT_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+
+    private RequestDeadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    // 마감 시각 없음 (기존처럼 무한 대기)
+    public static RequestDeadline none() {
+        return NONE;
+    }
+
+    public static RequestDeadline after(long timeoutMillis) {
+        long clamped = Math.min(timeoutMillis, MAX_TIMEOUT_MILLIS);
+        return new RequestDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(clamped), true);
+    }
+
+    // 요청 헤더 값이 없거나 잘못된 경우 기본 마감 시간 적용 (기본값이 0 이하면 마감 시각 없음)
+    public static RequestDeadline fromHeader(Long timeoutMillis, long defaultTimeoutMillis) {
+        if (timeoutMillis != null && timeoutMillis > 0) {
+            return after(timeoutMillis);
+        }
+        return defaultTimeoutMillis > 0 ? after(defaultTimeoutMillis) : NONE;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public long remainingNanos() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return bounded && remainingNanos() <= 0;
+    }
+}
@@ -5,7 +5,10 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - TRANSFER_OUT : 다른 사용자에게 이체 (보낸 사용자)
+ * - TRANSFER_IN : 다른 사용자로부터 이체 (받은 사용자)
+ * - EXPIRE : 유효기간이 지난 포인트 소멸
  */
 public enum TransactionType {
-    CHARGE, USE
+    CHARGE, USE, TRANSFER_OUT, TRANSFER_IN, EXPIRE
 }
\ No newline at end of file
@@ -1,11 +1,24 @@
 package io.hhplus.tdd.point.exception;
 
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 포인트 도메인 예외
+ * - 잔액 부족 등 정상적인 비즈니스 흐름에서 자주 발생하므로 스택 트레이스를 만들지 않습니다.
+ * - 메시지는 getMessage() 가 처음 호출될 때(응답 직렬화 시점) 포맷팅합니다.
+ */
 public class PointException extends RuntimeException {
     
     public enum ErrorCode {
         INVALID_AMOUNT("잘못된 금액입니다"),
         INSUFFICIENT_POINT("포인트가 부족합니다"),
-        USER_NOT_FOUND("사용자를 찾을 수 없습니다");
+        USER_NOT_FOUND("사용자를 찾을 수 없습니다"),
+        REQUEST_TIMEOUT("요청 처리 시간이 초과되었습니다"),
+        SERVER_BUSY("요청이 많아 처리할 수 없습니다"),
+        INVALID_TRANSFER("잘못된 이체 요청입니다"),
+        EXPORT_OFFSET_OUT_OF_RANGE("내보내기 오프셋이 보관 범위를 벗어났습니다"),
+        EXPORT_LOG_FAILED("내보내기 로그 쓰기에 실패해 이후 히스토리가 누락되었습니다");
         
         private final String defaultMessage;
         
@@ -18,16 +31,35 @@ public class PointException extends RuntimeException {
         }
     }
     
+    // 상세 정보가 없는 예외는 불변이므로 ErrorCode 별로 하나씩 재사용
+    private static final Map<ErrorCode, PointException> CACHED = new EnumMap<>(ErrorCode.class);
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            CACHED.put(errorCode, new PointException(errorCode, errorCode.getDefaultMessage()));
+        }
+    }
+    
     private final ErrorCode errorCode;
+    private final long first;
+    private final long second;
+    private final long third;
+    private String message;
     
     public PointException(ErrorCode errorCode, String message) {
-        super(message);
+        super(message, null, false, false);
         this.errorCode = errorCode;
+        this.first = 0L;
+        this.second = 0L;
+        this.third = 0L;
+        this.message = message;
     }
     
-    public PointException(ErrorCode errorCode, Object... args) {
-        super(formatMessage(errorCode, args));
+    private PointException(ErrorCode errorCode, long first, long second, long third) {
+        super(null, null, false, false);
         this.errorCode = errorCode;
+        this.first = first;
+        this.second = second;
+        this.third = third;
     }
     
     public ErrorCode getErrorCode() {
@@ -38,27 +70,49 @@ public class PointException extends RuntimeException {
         return errorCode.name();
     }
     
-    private static String formatMessage(ErrorCode errorCode, Object... args) {
+    @Override
+    public String getMessage() {
+        // 같은 값으로만 채워지므로 경쟁이 있어도 결과는 동일
+        String formatted = message;
+        if (formatted == null) {
+            formatted = formatMessage();
+            message = formatted;
+        }
+        return formatted;
+    }
+    
+    private String formatMessage() {
         switch (errorCode) {
             case INVALID_AMOUNT:
-                long amount = (Long) args[0];
-                return String.format("잘못된 금액입니다: %d (0보다 큰 값이어야 합니다)", amount);
+                return String.format("잘못된 금액입니다: %d (0보다 큰 값이어야 합니다)", first);
             case INSUFFICIENT_POINT:
-                long userId = (Long) args[0];
-                long required = (Long) args[1];
-                long available = (Long) args[2];
-                return String.format("사용자 ID %d의 포인트가 부족합니다. 필요: %d, 보유: %d", userId, required, available);
+                return String.format("사용자 ID %d의 포인트가 부족합니다. 필요: %d, 보유: %d", first, second, third);
             case USER_NOT_FOUND:
-                long notFoundUserId = (Long) args[0];
-                return String.format("사용자 ID %d를 찾을 수 없습니다", notFoundUserId);
+                return String.format("사용자 ID %d를 찾을 수 없습니다", first);
+            case REQUEST_TIMEOUT:
+                return String.format("사용자 ID %d의 요청이 처리 시간을 초과했습니다", first);
+            case INVALID_TRANSFER:
+                return String.format("사용자 ID %d에서 %d로 이체할 수 없습니다", first, second);
+            case EXPORT_OFFSET_OUT_OF_RANGE:
+                return String.format("오프셋 %d는 보관 범위(%d ~ %d)를 벗어났습니다", first, second, third);
+            case EXPORT_LOG_FAILED:
+                return String.format("오프셋 %d 이후의 히스토리를 내보내기 로그에 쓰지 못했습니다 (누락 %d건)", first, second);
             default:
                 return errorCode.getDefaultMessage();
         }
     }
     
     // 정적 팩토리 메서드들
+    public static PointException of(ErrorCode errorCode) {
+        return CACHED.get(errorCode);
+    }
+    
     public static PointException invalidAmount(long amount) {
-        return new PointException(ErrorCode.INVALID_AMOUNT, amount);
+        return new PointException(ErrorCode.INVALID_AMOUNT, amount, 0L, 0L);
+    }
+    
+    public static PointException invalidAmount(String rawAmount) {
+        return new PointException(ErrorCode.INVALID_AMOUNT, "잘못된 금액 형식입니다: " + rawAmount);
     }
     
     public static PointException insufficientPoint(long userId, long required, long available) {
@@ -66,6 +120,22 @@ public class PointException extends RuntimeException {
     }
     
     public static PointException userNotFound(long userId) {
-        return new PointException(ErrorCode.USER_NOT_FOUND, userId);
+        return new PointException(ErrorCode.USER_NOT_FOUND, userId, 0L, 0L);
+    }
+    
+    public static PointException requestTimeout(long userId) {
+        return new PointException(ErrorCode.REQUEST_TIMEOUT, userId, 0L, 0L);
+    }
+    
+    public static PointException invalidTransfer(long fromId, long toId) {
+        return new PointException(ErrorCode.INVALID_TRANSFER, fromId, toId, 0L);
+    }
+    
+    public static PointException exportOffsetOutOfRange(long offset, long firstOffset, long nextOffset) {
+        return new PointException(ErrorCode.EXPORT_OFFSET_OUT_OF_RANGE, offset, firstOffset, nextOffset);
+    }
+    
+    public static PointException exportLogFailed(long nextOffset, long lostRecords) {
+        return new PointException(ErrorCode.EXPORT_LOG_FAILED, nextOffset, lostRecords, 0L);
     }
 }
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point.export;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+@RestController
+@RequestMapping("/point")
+@RequiredArgsConstructor
+public class PointExportController {
+    public static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
+    public static final String RECORD_SIZE_HEADER = "X-Record-Size";
+    private static final long MAX_EXPORT_BYTES = 16L * 1024 * 1024;
+
+    // Tomcat sendfile 요청 속성 (커넥터가 지원하면 서블릿이 반환된 뒤 Tomcat 이 파일 구간을 소켓으로 바로 전송)
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final PointHistoryExportLog pointHistoryExportLog;
+
+    // fromOffset 부터의 히스토리 레코드를 바이너리로 내려줌, 다음 요청은 X-Next-Offset 부터 이어서 받음
+    @GetMapping("export")
+    public void export(@RequestParam long fromOffset,
+                       @RequestParam(defaultValue = "1048576") long maxBytes,
+                       HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        try (PointHistoryExportLog.Slice slice = pointHistoryExportLog.slice(fromOffset,
+                Math.max(PointHistoryExportLog.RECORD_SIZE, Math.min(maxBytes, MAX_EXPORT_BYTES)))) {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(NEXT_OFFSET_HEADER, Long.toString(slice.nextOffset()));
+            response.setHeader(RECORD_SIZE_HEADER, Integer.toString(PointHistoryExportLog.RECORD_SIZE));
+            response.setContentLengthLong(slice.byteCount());
+            if (slice.byteCount() == 0) {
+                return;
+            }
+            // sendfile 은 서블릿이 반환되어 Slice 가 닫힌 뒤에 Tomcat 이 파일을 열므로,
+            // 그 사이 보관 기간 정리로 지워질 수 있는 세그먼트는 Slice 를 잡은 채 transferTo 로 보냄
+            if (!slice.nearRetention() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTR, slice.path().toFile().getCanonicalPath());
+                request.setAttribute(SENDFILE_START_ATTR, slice.filePosition());
+                request.setAttribute(SENDFILE_END_ATTR, slice.filePosition() + slice.byteCount());
+            } else {
+                // sendfile 을 쓸 수 없는 커넥터(예: 응답 압축 사용)도 서블릿 출력 스트림으로 복사
+                slice.transferTo(Channels.newChannel(response.getOutputStream()));
+            }
+        }
+    }
+}
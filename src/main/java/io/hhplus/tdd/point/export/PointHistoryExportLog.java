@@ -0,0 +1,464 @@
+package io.hhplus.tdd.point.export;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * PointHistory CDC 내보내기 로그
+ * - 히스토리 한 건을 고정 크기(RECORD_SIZE) 레코드로 세그먼트 파일 끝에 덧붙이기만 합니다.
+ * - PointService 는 사용자 락 안에서 enqueue 로 로그가 가진 큐에 넣기만 하고, 쓰기 스레드(point-export-writer) 하나가
+ *   큐 순서대로 꺼내 오프셋을 부여하고 파일에 씁니다. 파일 쓰기와 appendLock 을 사용자 락 밖으로 빼서 사용자 간 직렬화를 막고,
+ *   큐에는 사용자 락 안에서 넣으므로 같은 사용자의 히스토리 순서는 그대로 유지됩니다.
+ * - 오프셋은 로그가 추가 순서대로 부여합니다. PointHistory.id 는 PointHistoryTable 의 cursor++ 가 동기화되어 있지 않아
+ *   동시 삽입에서 추가 순서와 어긋나거나 중복될 수 있으므로, 오프셋으로 쓰지 않고 레코드 안에 함께 저장합니다.
+ * - 레코드 크기가 고정이라 오프셋만으로 파일 위치가 계산되고, 읽기는 행 단위 객체 없이 파일 구간을 그대로 전송합니다.
+ * - 세그먼트 파일 이름은 첫 오프셋이며, 새 세그먼트로 넘어갈 때와 retention-check-interval 마다
+ *   크기/보관 기간을 넘은 오래된 세그먼트를 지웁니다. 읽는 중인 세그먼트는 마지막 Slice 가 닫힐 때 닫고 지웁니다.
+ * - 파일 쓰기에 한 번이라도 실패하면 로그는 실패 상태가 되어 이후 레코드를 쓰지 않습니다.
+ *   오프셋이 연속이라 중간에 빠진 레코드는 소비자가 알 수 없으므로, 끝까지 읽은 소비자에게 EXPORT_LOG_FAILED 로 알립니다.
+ *
+ * 레코드 형식 (big-endian)
+ * offset(8) historyId(8) userId(8) amount(8) updateMillis(8) type(4, TransactionType ordinal) reserved(4)
+ */
+@Component
+public class PointHistoryExportLog {
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryExportLog.class);
+
+    public static final int RECORD_SIZE = 48;
+    private static final String SEGMENT_SUFFIX = ".log";
+    // 쓰기 스레드 종료 신호 (참조 비교)
+    private static final PointHistory STOP = new PointHistory(-1L, -1L, 0L, TransactionType.CHARGE, 0L);
+    private static final long WRITER_STOP_TIMEOUT_MILLIS = 5_000L;
+
+    private final Path dir;
+    private final long segmentRecords;
+    private final long retentionBytes;
+    private final Duration retention;
+    private final Duration retentionCheckInterval;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // 첫 오프셋 -> 세그먼트, 마지막 세그먼트가 쓰기 중인 세그먼트
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE);
+    private Segment active;
+    // 쓰기에 실패한 레코드 수, 0 보다 크면 실패 상태 (재시작 전까지 유지)
+    private final AtomicLong lostRecords = new AtomicLong();
+    private ScheduledExecutorService retentionScheduler;
+    // 락 없이 넣을 수 있는 큐, 쓰기 스레드 하나만 꺼냄
+    private final LinkedTransferQueue<PointHistory> pending = new LinkedTransferQueue<>();
+    private Thread writer;
+    private volatile boolean closed;
+
+    public PointHistoryExportLog(@Value("${point.export.dir:data/point-export}") Path dir,
+                                 @Value("${point.export.segment-size:64MB}") DataSize segmentSize,
+                                 @Value("${point.export.retention-size:1GB}") DataSize retentionSize,
+                                 @Value("${point.export.retention:7d}") Duration retention,
+                                 @Value("${point.export.retention-check-interval:1m}") Duration retentionCheckInterval) throws IOException {
+        this.dir = dir;
+        this.segmentRecords = Math.max(1, segmentSize.toBytes() / RECORD_SIZE);
+        this.retentionBytes = retentionSize.toBytes();
+        this.retention = retention;
+        this.retentionCheckInterval = retentionCheckInterval;
+        Files.createDirectories(dir);
+        recover();
+    }
+
+    // 큐에 쌓인 히스토리를 쓰는 스레드를 띄우고, 쓰기가 없어도 보관 기간이 지난 세그먼트가 지워지도록 주기적으로 확인
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::writeQueued, "point-export-writer");
+        writer.setDaemon(true);
+        writer.start();
+        retentionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-export-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = retentionCheckInterval.toMillis();
+        retentionScheduler.scheduleWithFixedDelay(this::enforceRetentionSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void writeQueued() {
+        try {
+            PointHistory history;
+            while ((history = pending.take()) != STOP) {
+                appendSafely(history);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void appendSafely(PointHistory history) {
+        try {
+            append(history);
+        } catch (RuntimeException e) {
+            lostRecords.incrementAndGet();
+            log.error("point history export append failed: historyId={}", history.id(), e);
+        }
+    }
+
+    private void enforceRetentionSafely() {
+        try {
+            enforceRetention();
+        } catch (Exception e) {
+            log.warn("point history export retention failed", e);
+        }
+    }
+
+    // 재시작 시 기존 세그먼트를 열고, 마지막 세그먼트의 잘린 레코드는 버림
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long baseOffset = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long records = channel.size() / RECORD_SIZE;
+            channel.truncate(records * RECORD_SIZE);
+            segments.put(baseOffset, new Segment(baseOffset, file, channel, baseOffset + records));
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, openSegment(0L));
+        }
+        active = segments.lastEntry().getValue();
+        removeExpiredSegments();
+    }
+
+    /**
+     * 히스토리 한 건을 쓰기 큐에 넣습니다. 락이나 파일 쓰기 없이 바로 반환하며, 오프셋은 쓰기 스레드가 부여합니다.
+     * 종료 중이라 쓸 수 없으면 누락으로 기록합니다.
+     */
+    public void enqueue(PointHistory history) {
+        if (closed) {
+            lostRecords.incrementAndGet();
+            log.warn("point history export log is closed, history dropped: historyId={}", history.id());
+            return;
+        }
+        pending.offer(history);
+    }
+
+    /**
+     * 히스토리 한 건을 바로 덧붙이고 부여된 오프셋을 반환합니다. (쓰기 스레드와 테스트에서 사용)
+     * 히스토리는 이미 테이블에 저장된 뒤이므로, 파일 쓰기에 실패해도 포인트 처리를 실패시키지 않고
+     * 로그를 실패 상태로 바꿔 누락을 기록합니다. (-1 반환)
+     */
+    public long append(PointHistory history) {
+        appendLock.lock();
+        try {
+            if (lostRecords.get() > 0) {
+                // 실패 뒤의 레코드를 이어 쓰면 빠진 레코드가 드러나지 않으므로 쓰지 않음
+                lostRecords.incrementAndGet();
+                return -1L;
+            }
+            if (active.nextOffset - active.baseOffset >= segmentRecords) {
+                roll();
+            }
+            long offset = active.nextOffset;
+            buffer.clear();
+            buffer.putLong(offset)
+                    .putLong(history.id())
+                    .putLong(history.userId())
+                    .putLong(history.amount())
+                    .putLong(history.updateMillis())
+                    .putInt(history.type().ordinal())
+                    .putInt(0);
+            buffer.flip();
+            long position = (offset - active.baseOffset) * RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                position += active.channel.write(buffer, position);
+            }
+            // 레코드를 모두 쓴 뒤에 공개하므로 읽기 쪽은 완성된 레코드만 봄
+            active.nextOffset = offset + 1;
+            return offset;
+        } catch (IOException e) {
+            lostRecords.incrementAndGet();
+            log.error("point history export append failed, export log stops at offset {}: historyId={}",
+                    active.nextOffset, history.id(), e);
+            return -1L;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * fromOffset 부터 최대 maxBytes 만큼의 레코드 구간, 한 번에 한 세그먼트 안에서만 읽습니다.
+     * fromOffset 이 다음에 쓰일 오프셋과 같으면 빈 구간을 반환하고, 로그가 실패 상태면 EXPORT_LOG_FAILED 로 실패합니다.
+     * 반환된 Slice 는 다 읽은 뒤 닫아야 세그먼트를 지울 수 있습니다.
+     */
+    public Slice slice(long fromOffset, long maxBytes) {
+        long firstOffset = segments.firstKey();
+        long nextOffset = segments.lastEntry().getValue().nextOffset;
+        if (fromOffset < firstOffset || fromOffset > nextOffset) {
+            throw PointException.exportOffsetOutOfRange(fromOffset, firstOffset, nextOffset);
+        }
+        if (fromOffset == nextOffset && lostRecords.get() > 0) {
+            throw PointException.exportLogFailed(nextOffset, lostRecords.get());
+        }
+        Map.Entry<Long, Segment> entry = segments.floorEntry(fromOffset);
+        if (entry == null || !entry.getValue().retain()) {
+            // 조회 도중 보관 기간 정리로 세그먼트가 지워진 경우
+            throw PointException.exportOffsetOutOfRange(fromOffset, segments.firstKey(), nextOffset);
+        }
+        Segment segment = entry.getValue();
+        long records = Math.min(segment.nextOffset - fromOffset, Math.max(1, maxBytes / RECORD_SIZE));
+        return new Slice(segment, fromOffset, records, nearRetention(segment));
+    }
+
+    // 세그먼트 하나만큼 더 쓰이거나 보관 기간 확인이 한 번 더 돌면 지워질 수 있는 세그먼트인지
+    // (Slice 를 닫은 뒤에 파일을 여는 sendfile 전송은 이런 세그먼트를 피해야 함)
+    private boolean nearRetention(Segment segment) {
+        long bytes = segmentRecords * RECORD_SIZE;
+        for (Segment newer : segments.tailMap(segment.baseOffset).values()) {
+            bytes += newer.sizeBytes();
+        }
+        if (bytes > retentionBytes) {
+            return true;
+        }
+        try {
+            long expireBefore = System.currentTimeMillis() - retention.toMillis() + retentionCheckInterval.toMillis();
+            return Files.getLastModifiedTime(segment.path).toMillis() < expireBefore;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    public long firstOffset() {
+        return segments.firstKey();
+    }
+
+    public long nextOffset() {
+        return segments.lastEntry().getValue().nextOffset;
+    }
+
+    public boolean isFailed() {
+        return lostRecords.get() > 0;
+    }
+
+    private void roll() throws IOException {
+        active.channel.force(false);
+        Segment next = openSegment(active.nextOffset);
+        segments.put(next.baseOffset, next);
+        active = next;
+        removeExpiredSegments();
+    }
+
+    // 쓰기 중인 세그먼트는 남기고, 전체 크기나 마지막 수정 시각 기준으로 오래된 세그먼트부터 삭제
+    // (읽는 중인 세그먼트는 목록에서만 빼고, 파일은 마지막 Slice 가 닫힐 때 지움)
+    void enforceRetention() throws IOException {
+        appendLock.lock();
+        try {
+            removeExpiredSegments();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void removeExpiredSegments() throws IOException {
+        long totalBytes = 0;
+        for (Segment segment : segments.values()) {
+            totalBytes += segment.sizeBytes();
+        }
+        long expireBefore = System.currentTimeMillis() - retention.toMillis();
+        while (segments.size() > 1) {
+            Segment oldest = segments.firstEntry().getValue();
+            boolean overSize = totalBytes > retentionBytes;
+            boolean expired = Files.getLastModifiedTime(oldest.path).toMillis() < expireBefore;
+            if (!overSize && !expired) {
+                break;
+            }
+            segments.remove(oldest.baseOffset);
+            totalBytes -= oldest.sizeBytes();
+            oldest.release(true);
+        }
+    }
+
+    private Segment openSegment(long baseOffset) throws IOException {
+        Path path = dir.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(baseOffset, path, channel, baseOffset);
+    }
+
+    // 큐에 남은 히스토리를 모두 쓴 뒤에 세그먼트를 닫음
+    @PreDestroy
+    public void close() throws IOException {
+        closed = true;
+        if (retentionScheduler != null) {
+            retentionScheduler.shutdownNow();
+        }
+        if (writer != null) {
+            pending.offer(STOP);
+            try {
+                writer.join(WRITER_STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        appendLock.lock();
+        try {
+            // 쓰기 스레드가 없거나 시간 안에 끝나지 않았으면 남은 히스토리를 직접 씀
+            PointHistory history;
+            while ((history = pending.poll()) != null) {
+                if (history != STOP) {
+                    appendSafely(history);
+                }
+            }
+            active.channel.force(false);
+            for (Segment segment : segments.values()) {
+                segment.release(false);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private static final class Segment {
+        final long baseOffset;
+        final Path path;
+        final FileChannel channel;
+        // 쓰기가 끝난 레코드의 다음 오프셋 (append 만 갱신)
+        volatile long nextOffset;
+        // 로그가 가진 참조 1 + 열린 Slice 수, 0 이 되면 채널을 닫음
+        private final AtomicInteger refCount = new AtomicInteger(1);
+        private volatile boolean deleteOnClose;
+
+        Segment(long baseOffset, Path path, FileChannel channel, long nextOffset) {
+            this.baseOffset = baseOffset;
+            this.path = path;
+            this.channel = channel;
+            this.nextOffset = nextOffset;
+        }
+
+        long sizeBytes() {
+            return (nextOffset - baseOffset) * RECORD_SIZE;
+        }
+
+        // 이미 닫힌 세그먼트면 false
+        boolean retain() {
+            int count;
+            do {
+                count = refCount.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!refCount.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        // 로그가 가진 참조를 놓을 때만 delete 를 지정
+        void release(boolean delete) {
+            if (delete) {
+                deleteOnClose = true;
+            }
+            if (refCount.decrementAndGet() > 0) {
+                return;
+            }
+            try {
+                channel.close();
+                if (deleteOnClose) {
+                    Files.deleteIfExists(path);
+                }
+            } catch (IOException e) {
+                log.warn("point history export segment close failed: {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * 한 세그먼트 안의 연속된 레코드 구간, 닫을 때까지 세그먼트가 지워지지 않습니다.
+     */
+    public static final class Slice implements AutoCloseable {
+        private final Segment segment;
+        private final long fromOffset;
+        private final long records;
+        private final boolean nearRetention;
+        private boolean closed;
+
+        private Slice(Segment segment, long fromOffset, long records, boolean nearRetention) {
+            this.segment = segment;
+            this.fromOffset = fromOffset;
+            this.records = records;
+            this.nearRetention = nearRetention;
+        }
+
+        public long fromOffset() {
+            return fromOffset;
+        }
+
+        public long nextOffset() {
+            return fromOffset + records;
+        }
+
+        public long byteCount() {
+            return records * RECORD_SIZE;
+        }
+
+        public Path path() {
+            return segment.path;
+        }
+
+        // 곧 보관 기간 정리로 지워질 수 있는 세그먼트의 구간이면 true
+        // (닫은 뒤에도 파일을 읽는 전송 대신 닫기 전에 transferTo 로 보내야 함)
+        public boolean nearRetention() {
+            return nearRetention;
+        }
+
+        // 세그먼트 파일 안에서 구간이 시작하는 바이트 위치
+        public long filePosition() {
+            return (fromOffset - segment.baseOffset) * RECORD_SIZE;
+        }
+
+        // 세그먼트 파일 구간을 FileChannel.transferTo 로 바로 전송 (레코드를 힙으로 읽어 들이지 않음)
+        public void transferTo(WritableByteChannel target) throws IOException {
+            long position = filePosition();
+            long remaining = byteCount();
+            while (remaining > 0) {
+                long transferred = segment.channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new IOException("export segment ended early: " + segment.path);
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                segment.release(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point.hotkey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 사용자별 최근 요청률 추정기 (sliding window count-min sketch)
+ * - window 를 subWindows 개의 구간으로 나누고 구간마다 count-min sketch 를 하나씩 둡니다.
+ *   가장 오래된 구간의 sketch 를 비워 재사용하므로 메모리는 사용자 수와 무관하게 고정입니다.
+ * - 추정치는 구간별 (행 중 최솟값) 의 합이며, 해시 충돌로 실제보다 크게 나올 수는 있어도 작게 나오지는 않습니다.
+ *   (구간을 비우는 순간 동시에 들어온 요청 몇 건은 누락될 수 있음)
+ * - 추정 요청률이 reportRate 이상인 사용자는 크기가 제한된 heavy hitter 목록에 유지합니다.
+ */
+@Component
+public class HotKeyDetector {
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final long windowMillis;
+    private final long subWindowMillis;
+    private final int subWindows;
+    private final int depth;
+    private final int widthMask;
+    private final int heavyHitterCapacity;
+    private final long reportRate;
+
+    // 구간별 sketch (depth * width), 각 구간이 현재 담고 있는 구간 번호(epoch)
+    private final AtomicLongArray[] sketches;
+    private final AtomicLongArray sketchEpochs;
+    private final Map<Long, Long> heavyHitters = new ConcurrentHashMap<>();
+
+    public HotKeyDetector(@Value("${point.hot-key.window:10s}") Duration window,
+                          @Value("${point.hot-key.sub-windows:5}") int subWindows,
+                          @Value("${point.hot-key.sketch-width:4096}") int width,
+                          @Value("${point.hot-key.sketch-depth:4}") int depth,
+                          @Value("${point.hot-key.heavy-hitters:32}") int heavyHitterCapacity,
+                          @Value("${point.hot-key.report-rate:20}") long reportRate) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("sketch depth must be between 1 and " + SEEDS.length + ": " + depth);
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.windowMillis = window.toMillis();
+        this.subWindows = subWindows;
+        this.subWindowMillis = Math.max(1, windowMillis / subWindows);
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.heavyHitterCapacity = heavyHitterCapacity;
+        this.reportRate = reportRate;
+        this.sketches = new AtomicLongArray[subWindows];
+        for (int i = 0; i < subWindows; i++) {
+            sketches[i] = new AtomicLongArray(depth * roundedWidth);
+        }
+        this.sketchEpochs = new AtomicLongArray(subWindows);
+        for (int i = 0; i < subWindows; i++) {
+            sketchEpochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    public long record(long userId) {
+        return record(userId, System.currentTimeMillis());
+    }
+
+    // 요청 한 건을 기록하고 최근 window 의 초당 요청 수 추정치를 반환
+    public long record(long userId, long nowMillis) {
+        long epoch = nowMillis / subWindowMillis;
+        int slot = (int) Math.floorMod(epoch, (long) subWindows);
+        long slotEpoch = sketchEpochs.get(slot);
+        if (slotEpoch < epoch && sketchEpochs.compareAndSet(slot, slotEpoch, epoch)) {
+            // 이 구간을 새로 쓰기 시작하는 스레드가 한 번만 비우고 heavy hitter 목록을 정리
+            clear(sketches[slot]);
+            pruneHeavyHitters(nowMillis);
+        }
+
+        AtomicLongArray sketch = sketches[slot];
+        int rowWidth = widthMask + 1;
+        for (int row = 0; row < depth; row++) {
+            sketch.incrementAndGet(row * rowWidth + index(userId, row));
+        }
+
+        long rate = estimateRate(userId, nowMillis);
+        if (rate >= reportRate) {
+            offerHeavyHitter(userId, rate);
+        }
+        return rate;
+    }
+
+    public long estimateRate(long userId) {
+        return estimateRate(userId, System.currentTimeMillis());
+    }
+
+    public long estimateRate(long userId, long nowMillis) {
+        long epoch = nowMillis / subWindowMillis;
+        int rowWidth = widthMask + 1;
+        long total = 0;
+        for (int slot = 0; slot < subWindows; slot++) {
+            long slotEpoch = sketchEpochs.get(slot);
+            if (slotEpoch > epoch || slotEpoch <= epoch - subWindows) {
+                continue;
+            }
+            AtomicLongArray sketch = sketches[slot];
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, sketch.get(row * rowWidth + index(userId, row)));
+            }
+            total += min;
+        }
+        return total * 1000 / windowMillis;
+    }
+
+    // 추정 요청률 내림차순
+    public List<HotKeyStatus.HotKey> heavyHitters() {
+        List<HotKeyStatus.HotKey> hotKeys = new ArrayList<>(heavyHitters.size());
+        heavyHitters.forEach((userId, rate) -> hotKeys.add(new HotKeyStatus.HotKey(userId, rate)));
+        hotKeys.sort(Comparator.comparingLong(HotKeyStatus.HotKey::estimatedRate).reversed());
+        return hotKeys;
+    }
+
+    public long subWindowMillis() {
+        return subWindowMillis;
+    }
+
+    // 목록이 가득 차면 추정치가 가장 낮은 사용자와 비교해 교체 (새 사용자가 들어올 때만 O(capacity))
+    private void offerHeavyHitter(long userId, long rate) {
+        if (heavyHitters.replace(userId, rate) != null) {
+            return;
+        }
+        if (heavyHitters.size() >= heavyHitterCapacity) {
+            Map.Entry<Long, Long> min = null;
+            for (Map.Entry<Long, Long> entry : heavyHitters.entrySet()) {
+                if (min == null || entry.getValue() < min.getValue()) {
+                    min = entry;
+                }
+            }
+            if (min == null || min.getValue() >= rate) {
+                return;
+            }
+            heavyHitters.remove(min.getKey(), min.getValue());
+        }
+        heavyHitters.put(userId, rate);
+    }
+
+    private void pruneHeavyHitters(long nowMillis) {
+        for (Long userId : heavyHitters.keySet()) {
+            long rate = estimateRate(userId, nowMillis);
+            if (rate < reportRate) {
+                heavyHitters.remove(userId);
+            } else {
+                heavyHitters.put(userId, rate);
+            }
+        }
+    }
+
+    private int index(long userId, int row) {
+        long hash = (userId ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        hash *= 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return (int) hash & widthMask;
+    }
+
+    private static void clear(AtomicLongArray sketch) {
+        for (int i = 0; i < sketch.length(); i++) {
+            sketch.set(i, 0L);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package io.hhplus.tdd.point.hotkey;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.RequestDeadline;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.monitoring.PointHotKeyEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핫키 사용자 전용 레인
+ * - 충전/사용 요청마다 HotKeyDetector 에 기록하고, 추정 요청률이 promoteRate 이상이면 사용자별 전용 레인을 만듭니다.
+ * - 레인은 크기가 제한된 대기열과 전용 스레드 하나로 요청을 batchSize 건씩 묶어 PointService.processBatch 로 처리합니다.
+ *   핫키 사용자의 요청끼리 사용자 락을 두고 경쟁하지 않고, 대기열이 차면 SERVER_BUSY 로 바로 실패합니다.
+ *   (비동기 API 는 처리를 기다리는 동안 스레드를 붙잡지 않지만, 동기 API 는 톰캣 스레드가 결과를 기다림)
+ * - 요청률이 demoteRate 아래로 떨어지면 일반 경로로 되돌립니다. (승격/강등 기준을 달리해 경계에서 반복되지 않도록 함)
+ *   강등된 레인은 목록에서 빠져 새 요청이 오지 않고, 이미 받은 요청과 강등 직전에 레인을 받아 간 요청까지
+ *   레인 스레드에서 처리한 뒤 스레드가 바로 종료됩니다. (호출한 스레드에서 처리하거나 SERVER_BUSY 로 실패시키지 않음)
+ * - 동기 API 로 레인 처리를 기다리는 톰캣 스레드 수는 maxSyncWaiters 로 제한합니다. (넘으면 SERVER_BUSY)
+ */
+@Component
+public class HotKeyLanes {
+    private static final Logger log = LoggerFactory.getLogger(HotKeyLanes.class);
+    private static final long SHUTDOWN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final PointService pointService;
+    private final HotKeyDetector hotKeyDetector;
+    private final boolean enabled;
+    private final long promoteRate;
+    private final long demoteRate;
+    private final int maxLanes;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final Semaphore syncWaiters;
+
+    private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+    // 만들어졌거나 만드는 중인 레인 수 (maxLanes 한도를 승격 시점에 예약)
+    private final AtomicInteger laneCount = new AtomicInteger();
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder demotions = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean stopped;
+
+    public HotKeyLanes(PointService pointService,
+                       HotKeyDetector hotKeyDetector,
+                       @Value("${point.hot-key.enabled:true}") boolean enabled,
+                       @Value("${point.hot-key.promote-rate:50}") long promoteRate,
+                       @Value("${point.hot-key.demote-rate:20}") long demoteRate,
+                       @Value("${point.hot-key.max-lanes:16}") int maxLanes,
+                       @Value("${point.hot-key.lane-queue-capacity:256}") int queueCapacity,
+                       @Value("${point.hot-key.batch-size:16}") int batchSize,
+                       @Value("${point.hot-key.max-sync-waiters:64}") int maxSyncWaiters) {
+        this.pointService = pointService;
+        this.hotKeyDetector = hotKeyDetector;
+        this.enabled = enabled;
+        this.promoteRate = promoteRate;
+        this.demoteRate = demoteRate;
+        this.maxLanes = maxLanes;
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.syncWaiters = new Semaphore(maxSyncWaiters);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-hot-key");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = hotKeyDetector.subWindowMillis();
+        scheduler.scheduleWithFixedDelay(() -> demoteCooled(System.currentTimeMillis()),
+                interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 충전/사용 요청 한 건을 기록하고, 전용 레인 대상이면 레인을 반환합니다. (null 이면 일반 경로로 처리)
+     */
+    public Lane route(long userId) {
+        if (!enabled || stopped) {
+            return null;
+        }
+        long rate = hotKeyDetector.record(userId);
+        Lane lane = lanes.get(userId);
+        if (lane != null || rate < promoteRate) {
+            return lane;
+        }
+        return lanes.computeIfAbsent(userId, id -> promote(id, rate));
+    }
+
+    // 한도를 넘으면 null 을 반환해 레인을 만들지 않음 (동시에 여러 사용자가 승격되어도 한도를 넘지 않도록 먼저 예약)
+    private Lane promote(long userId, long rate) {
+        if (laneCount.incrementAndGet() > maxLanes) {
+            laneCount.decrementAndGet();
+            return null;
+        }
+        promotions.increment();
+        new PointHotKeyEvent().finish(userId, true, rate);
+        log.info("hot key promoted: userId={}, estimatedRate={}/s", userId, rate);
+        return new Lane(userId);
+    }
+
+    // 요청률이 내려간 레인 제거, 이미 대기열에 들어간 요청은 처리한 뒤 레인 스레드 종료
+    public void demoteCooled(long nowMillis) {
+        lanes.forEach((userId, lane) -> {
+            long rate = hotKeyDetector.estimateRate(userId, nowMillis);
+            if (rate < demoteRate && lanes.remove(userId, lane)) {
+                laneCount.decrementAndGet();
+                lane.close();
+                demotions.increment();
+                new PointHotKeyEvent().finish(userId, false, rate);
+                log.info("hot key demoted: userId={}, estimatedRate={}/s", userId, rate);
+            }
+        });
+    }
+
+    public HotKeyStatus status() {
+        List<HotKeyStatus.LaneStatus> laneStatuses = new ArrayList<>(lanes.size());
+        lanes.forEach((userId, lane) -> laneStatuses.add(new HotKeyStatus.LaneStatus(userId,
+                hotKeyDetector.estimateRate(userId), lane.queue.size(), lane.processed.sum(), lane.batches.sum())));
+        return new HotKeyStatus(promotions.sum(), demotions.sum(), rejected.sum(),
+                laneStatuses, hotKeyDetector.heavyHitters());
+    }
+
+    // 대기열에 남은 요청은 제한 시간 동안 처리하고, 그 뒤에도 남은 요청은 SERVER_BUSY 로 실패
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        List<Lane> closing = new ArrayList<>(lanes.values());
+        closing.forEach(lane -> {
+            if (lanes.remove(lane.userId, lane)) {
+                laneCount.decrementAndGet();
+            }
+            lane.shutdown();
+        });
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT_NANOS;
+        closing.forEach(lane -> lane.awaitClosed(deadline));
+    }
+
+    /**
+     * 핫키 사용자 한 명의 전용 레인
+     */
+    public final class Lane {
+        private final long userId;
+        private final ArrayBlockingQueue<PointCommand> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final ThreadPoolExecutor executor;
+        // 처리 작업이 실행 중이거나 예약되어 있는지 (executor 대기열에는 항상 한 건 이하)
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+
+        private Lane(long userId) {
+            this.userId = userId;
+            this.executor = new ThreadPoolExecutor(1, 1, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "point-lane-" + userId);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        public CompletableFuture<UserPoint> charge(long amount, RequestDeadline deadline) {
+            return submit(PointCommand.charge(amount, deadline));
+        }
+
+        public CompletableFuture<UserPoint> use(long amount, RequestDeadline deadline) {
+            return submit(PointCommand.use(amount, deadline));
+        }
+
+        // 동기 API 용, 마감 시각까지 처리가 시작되지 않으면 요청을 취소하고 REQUEST_TIMEOUT
+        private UserPoint await(CompletableFuture<UserPoint> future, RequestDeadline deadline, PointCommand command) {
+            try {
+                if (!deadline.isBounded()) {
+                    return future.get();
+                }
+                try {
+                    return future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (command.cancel()) {
+                        throw PointException.requestTimeout(userId);
+                    }
+                    // 이미 쓰기를 시작했으면 끝날 때까지 기다려 결과를 그대로 반환
+                    return future.get();
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                command.cancel();
+                throw PointException.requestTimeout(userId);
+            }
+        }
+
+        public UserPoint chargeAndWait(long amount, RequestDeadline deadline) {
+            return submitAndWait(PointCommand.charge(amount, deadline), deadline);
+        }
+
+        public UserPoint useAndWait(long amount, RequestDeadline deadline) {
+            return submitAndWait(PointCommand.use(amount, deadline), deadline);
+        }
+
+        // 기다리는 스레드 수가 한도에 차면 대기열에 넣지 않고 바로 SERVER_BUSY
+        private UserPoint submitAndWait(PointCommand command, RequestDeadline deadline) {
+            if (!syncWaiters.tryAcquire()) {
+                rejected.increment();
+                throw PointException.of(PointException.ErrorCode.SERVER_BUSY);
+            }
+            try {
+                return await(submit(command), deadline, command);
+            } finally {
+                syncWaiters.release();
+            }
+        }
+
+        // 강등된 레인도 실행기는 살아 있으므로, 강등 직전에 레인을 받아 간 요청도 대기열에 넣어 레인 스레드가 처리
+        private CompletableFuture<UserPoint> submit(PointCommand command) {
+            if (!queue.offer(command)) {
+                rejected.increment();
+                return CompletableFuture.failedFuture(PointException.of(PointException.ErrorCode.SERVER_BUSY));
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // 종료(stop) 중이라 레인 스레드를 쓸 수 없으면, 대기열에 넣은 요청을 실패시키지 않고 호출한 스레드에서 처리
+                    drain();
+                }
+            }
+            return command.result();
+        }
+
+        // 강등, 실행기를 닫지 않고 유휴 스레드만 바로 종료되게 함 (늦게 들어온 요청이 오면 스레드를 다시 만들어 처리)
+        private void close() {
+            executor.setKeepAliveTime(1L, TimeUnit.MILLISECONDS);
+        }
+
+        private void shutdown() {
+            executor.shutdown();
+        }
+
+        private void awaitClosed(long deadlineNanos) {
+            try {
+                if (!executor.awaitTermination(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    log.warn("hot key lane did not finish in time: userId={}, queued={}", userId, queue.size());
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+            failQueued();
+        }
+
+        private void failQueued() {
+            List<PointCommand> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            PointException serverBusy = PointException.of(PointException.ErrorCode.SERVER_BUSY);
+            remaining.forEach(command -> command.result().completeExceptionally(serverBusy));
+        }
+
+        private void drain() {
+            List<PointCommand> batch = new ArrayList<>(batchSize);
+            while (true) {
+                queue.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    scheduled.set(false);
+                    // 해제 직후 들어온 요청을 놓치지 않도록 다시 확인
+                    if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    pointService.processBatch(userId, batch);
+                } catch (RuntimeException e) {
+                    // processBatch 가 이미 완료한 요청은 그대로 두고, 완료되지 않은 요청만 실패
+                    log.error("hot key lane batch failed: userId={}", userId, e);
+                    batch.forEach(command -> command.result().completeExceptionally(e));
+                }
+                processed.add(batch.size());
+                batches.increment();
+                batch.clear();
+            }
+        }
+    }
+}
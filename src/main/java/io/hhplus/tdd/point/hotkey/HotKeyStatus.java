@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.hotkey;
+
+import java.util.List;
+
+/**
+ * 핫키 감지/전용 레인 현황 (GET /admin/point/hot-keys)
+ *
+ * @param promotions 애플리케이션 시작 이후 전용 레인으로 승격된 횟수
+ * @param demotions  요청률이 낮아져 일반 경로로 돌아간 횟수
+ * @param rejected   레인 대기열이 가득 차 SERVER_BUSY 로 거절된 요청 수
+ */
+public record HotKeyStatus(
+        long promotions,
+        long demotions,
+        long rejected,
+        List<LaneStatus> lanes,
+        List<HotKey> heavyHitters
+) {
+
+    public record LaneStatus(long userId, long estimatedRate, int queued, long processed, long batches) {
+    }
+
+    public record HotKey(long userId, long estimatedRate) {
+    }
+}
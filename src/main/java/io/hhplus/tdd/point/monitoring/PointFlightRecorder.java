@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 상시 켜 두는 JFR 레코딩
+ * - JDK 기본 저부하 설정(default.jfc)에 포인트 이벤트(io.hhplus.tdd.point.*)를 함께 기록합니다.
+ * - 디스크의 롤링 버퍼에 max-age / max-size 만큼만 보관하고, 필요할 때 dump() 로 파일로 떠냅니다.
+ *   (덤프 파일은 응답으로 내려준 뒤 바로 삭제하므로 dump-dir 에 쌓이지 않습니다)
+ */
+@Component
+public class PointFlightRecorder {
+    private static final Logger log = LoggerFactory.getLogger(PointFlightRecorder.class);
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path dumpDirectory;
+
+    private Recording recording;
+
+    public PointFlightRecorder(@Value("${point.jfr.enabled:false}") boolean enabled,
+                               @Value("${point.jfr.max-age:30m}") Duration maxAge,
+                               @Value("${point.jfr.max-size-mb:256}") long maxSizeMb,
+                               @Value("${point.jfr.dump-dir:${java.io.tmpdir}}") Path dumpDirectory) {
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.dumpDirectory = dumpDirectory;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        if (!enabled) {
+            return;
+        }
+        recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("point-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.enable(PointLockEvent.class);
+        recording.enable(PointTableEvent.class);
+        recording.enable(PointOperationEvent.class);
+        recording.start();
+        log.info("continuous JFR recording started (maxAge={}, maxSize={}MB)", maxAge, maxSizeBytes / 1024 / 1024);
+    }
+
+    // 현재 롤링 버퍼 내용을 파일로 저장 (레코딩이 꺼져 있으면 빈 값), 다 쓴 파일은 호출한 쪽에서 삭제
+    public Optional<Path> dump() throws IOException {
+        Recording current = recording;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Files.createDirectories(dumpDirectory);
+        Path target = dumpDirectory.resolve("point-" + System.currentTimeMillis() + ".jfr");
+        current.dump(target);
+        return Optional.of(target);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.monitoring;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 상시 JFR 레코딩 덤프 API
+ * - 인증 없이 스레드/할당 정보가 담긴 덤프를 내려주므로 point.jfr.dump-endpoint=true 일 때만 등록합니다.
+ *   (내부망에서만 접근할 수 있는 환경에서 켜고, 그 외에는 jcmd JFR.dump 로 덤프)
+ */
+@RestController
+@RequestMapping("/admin/point")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "point.jfr", name = "dump-endpoint", havingValue = "true")
+public class PointFlightRecordingController {
+    private final PointFlightRecorder pointFlightRecorder;
+
+    // 상시 레코딩의 롤링 버퍼를 .jfr 파일로 내려받음 (point.jfr.enabled=false 이면 404)
+    // 덤프 파일은 응답 본문으로 복사한 뒤 삭제
+    @PostMapping("jfr/dump")
+    public void dumpFlightRecording(HttpServletResponse response) throws IOException {
+        Optional<Path> dump = pointFlightRecorder.dump();
+        if (dump.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file = dump.get();
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"");
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
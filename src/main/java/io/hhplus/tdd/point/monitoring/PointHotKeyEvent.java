@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 핫키 전용 레인 승격/강등 이벤트 (지속 시간이 없는 순간 이벤트)
+ */
+@Name("io.hhplus.tdd.point.HotKeyLane")
+@Label("Point Hot Key Lane")
+@Category({"Point", "HotKey"})
+@Description("사용자의 핫키 전용 레인 승격/강등")
+@StackTrace(false)
+public class PointHotKeyEvent extends Event {
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Promoted")
+    @Description("true 이면 승격, false 이면 강등")
+    boolean promoted;
+
+    @Label("Estimated Rate")
+    @Description("감지 시점의 초당 요청 수 추정치")
+    long estimatedRate;
+
+    public void finish(long userId, boolean promoted, long estimatedRate) {
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.promoted = promoted;
+            this.estimatedRate = estimatedRate;
+            commit();
+        }
+    }
+}
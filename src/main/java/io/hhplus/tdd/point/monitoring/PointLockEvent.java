@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 사용자 락 대기 이벤트 (이벤트 duration = 락 대기 시간)
+ * 경합 없는 획득까지 남기지 않도록 1ms 이상 기다린 경우만 기록합니다.
+ */
+@Name("io.hhplus.tdd.point.LockAcquire")
+@Label("Point Lock Acquire")
+@Category({"Point", "Lock"})
+@Description("PointService 사용자 락 획득 대기")
+@Threshold("1 ms")
+@StackTrace(false)
+public class PointLockEvent extends Event {
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Acquired")
+    @Description("false 이면 마감 시간 안에 락을 얻지 못함")
+    boolean acquired;
+
+    public void finish(long userId, boolean acquired) {
+        end();
+        if (shouldCommit()) {
+            this.userId = userId;
+            this.acquired = acquired;
+            commit();
+        }
+    }
+}
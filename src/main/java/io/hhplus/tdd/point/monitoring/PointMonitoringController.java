@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.monitoring;
+
+import io.hhplus.tdd.point.hotkey.HotKeyLanes;
+import io.hhplus.tdd.point.hotkey.HotKeyStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/point")
+@RequiredArgsConstructor
+public class PointMonitoringController {
+    private final HotKeyLanes hotKeyLanes;
+
+    // 현재 전용 레인 사용자, heavy hitter 목록, 승격/강등 횟수
+    @GetMapping("hot-keys")
+    public HotKeyStatus hotKeys() {
+        return hotKeyLanes.status();
+    }
+}
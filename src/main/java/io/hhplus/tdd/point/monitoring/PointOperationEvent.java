@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 충전/사용/이체 한 건 전체 (이벤트 duration = 락 대기 + 테이블 호출을 포함한 처리 시간)
+ * 핫키 레인의 묶음 처리는 묶음 하나가 BATCH 한 건이며, amount 는 묶음의 금액 합계입니다.
+ */
+@Name("io.hhplus.tdd.point.Operation")
+@Label("Point Operation")
+@Category({"Point"})
+@Description("PointService 충전/사용/이체 처리")
+@StackTrace(false)
+public class PointOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Amount")
+    long amount;
+
+    @Label("Error Code")
+    @Description("성공한 경우 null, PointException 이 아닌 실패는 예외 클래스 이름")
+    String errorCode;
+
+    public void finish(String operation, long userId, long amount, String errorCode) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.userId = userId;
+            this.amount = amount;
+            this.errorCode = errorCode;
+            commit();
+        }
+    }
+}
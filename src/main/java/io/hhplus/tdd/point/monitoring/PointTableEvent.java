@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * UserPointTable, PointHistoryTable 호출 한 번 (이벤트 duration = 테이블 호출 시간)
+ */
+@Name("io.hhplus.tdd.point.TableCall")
+@Label("Point Table Call")
+@Category({"Point", "Table"})
+@Description("포인트 테이블 호출")
+@StackTrace(false)
+public class PointTableEvent extends Event {
+
+    @Label("Table")
+    String table;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Id")
+    long userId;
+
+    public void finish(String table, String operation, long userId) {
+        end();
+        if (shouldCommit()) {
+            this.table = table;
+            this.operation = operation;
+            this.userId = userId;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.hhplus.tdd.point.serialization;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 응답용 바이너리 인코딩 (application/x-point-binary)
+ * - 첫 바이트는 본문 종류 (USER_POINT, HISTORIES)
+ * - 정수는 zigzag varint 로 인코딩
+ * - 히스토리는 행 단위가 아닌 컬럼 단위로 쓰고, id/userId/updateMillis 는 직전 행과의 차이(delta)만 기록
+ *   [count] [id delta...] [userId delta...] [amount...] [type ordinal...] [updateMillis delta...]
+ */
+public final class PointBinaryCodec {
+    public static final byte USER_POINT = 1;
+    public static final byte HISTORIES = 2;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int BUFFER_SIZE = 8192;
+
+    private PointBinaryCodec() {
+    }
+
+    public static void writeUserPoint(UserPoint userPoint, OutputStream out) throws IOException {
+        VarintWriter writer = new VarintWriter(out, 64);
+        writer.writeByte(USER_POINT);
+        writer.writeSigned(userPoint.id());
+        writer.writeSigned(userPoint.point());
+        writer.writeSigned(userPoint.updateMillis());
+        writer.flush();
+    }
+
+    public static void writeHistories(List<PointHistory> histories, OutputStream out) throws IOException {
+        VarintWriter writer = new VarintWriter(out, BUFFER_SIZE);
+        writer.writeByte(HISTORIES);
+        writer.writeUnsigned(histories.size());
+
+        long previous = 0L;
+        for (PointHistory history : histories) {
+            writer.writeSigned(history.id() - previous);
+            previous = history.id();
+        }
+        previous = 0L;
+        for (PointHistory history : histories) {
+            writer.writeSigned(history.userId() - previous);
+            previous = history.userId();
+        }
+        for (PointHistory history : histories) {
+            writer.writeSigned(history.amount());
+        }
+        for (PointHistory history : histories) {
+            writer.writeByte((byte) history.type().ordinal());
+        }
+        previous = 0L;
+        for (PointHistory history : histories) {
+            writer.writeSigned(history.updateMillis() - previous);
+            previous = history.updateMillis();
+        }
+        writer.flush();
+    }
+
+    public static UserPoint readUserPoint(byte[] bytes) {
+        VarintReader reader = new VarintReader(bytes);
+        reader.expectKind(USER_POINT);
+        return new UserPoint(reader.readSigned(), reader.readSigned(), reader.readSigned());
+    }
+
+    public static List<PointHistory> readHistories(byte[] bytes) {
+        VarintReader reader = new VarintReader(bytes);
+        reader.expectKind(HISTORIES);
+        int count = (int) reader.readUnsigned();
+
+        long[] ids = reader.readDeltaColumn(count);
+        long[] userIds = reader.readDeltaColumn(count);
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = reader.readSigned();
+        }
+        TransactionType[] types = new TransactionType[count];
+        for (int i = 0; i < count; i++) {
+            types[i] = TYPES[reader.readByte()];
+        }
+        long[] updateMillis = reader.readDeltaColumn(count);
+
+        List<PointHistory> histories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            histories.add(new PointHistory(ids[i], userIds[i], amounts[i], types[i], updateMillis[i]));
+        }
+        return histories;
+    }
+
+    private static final class VarintWriter {
+        // varint 하나의 최대 길이
+        private static final int MAX_VARINT_BYTES = 10;
+
+        private final OutputStream out;
+        private final byte[] buffer;
+        private int position;
+
+        VarintWriter(OutputStream out, int bufferSize) {
+            this.out = out;
+            this.buffer = new byte[bufferSize];
+        }
+
+        void writeByte(byte value) throws IOException {
+            ensureCapacity();
+            buffer[position++] = value;
+        }
+
+        void writeSigned(long value) throws IOException {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        void writeUnsigned(long value) throws IOException {
+            ensureCapacity();
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void flush() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+
+        private void ensureCapacity() throws IOException {
+            if (position > buffer.length - MAX_VARINT_BYTES) {
+                flush();
+            }
+        }
+    }
+
+    private static final class VarintReader {
+        private final byte[] bytes;
+        private int position;
+
+        VarintReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        void expectKind(byte kind) {
+            byte actual = readByte();
+            if (actual != kind) {
+                throw new IllegalArgumentException("unexpected body kind: " + actual);
+            }
+        }
+
+        byte readByte() {
+            return bytes[position++];
+        }
+
+        long readSigned() {
+            long value = readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readUnsigned() {
+            long value = 0L;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long[] readDeltaColumn(int count) {
+            long[] column = new long[count];
+            long previous = 0L;
+            for (int i = 0; i < count; i++) {
+                previous += readSigned();
+                column[i] = previous;
+            }
+            return column;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point.serialization;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Accept: application/x-point-binary 요청에 UserPoint, List<PointHistory> 를 PointBinaryCodec 으로 응답합니다.
+ * - 쓰기 전용이며, JSON 이 기본 응답이 되도록 기본 컨버터들 뒤에 등록합니다.
+ * - 에러 응답(ErrorResponse) 등 다른 타입은 지원하지 않으며 ApiControllerAdvice 가 JSON 으로 응답합니다.
+ */
+public class PointBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final String MEDIA_TYPE_VALUE = "application/x-point-binary";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public PointBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    // List<PointHistory> 는 제네릭 타입 정보가 필요하므로 canWrite(Type, Class, MediaType) 에서만 허용
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UserPoint.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        if (UserPoint.class == clazz) {
+            return canWrite(mediaType);
+        }
+        if (type == null || !List.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        Class<?> elementType = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return elementType == PointHistory.class && canWrite(mediaType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof UserPoint userPoint) {
+            PointBinaryCodec.writeUserPoint(userPoint, outputMessage.getBody());
+        } else {
+            PointBinaryCodec.writeHistories((List<PointHistory>) body, outputMessage.getBody());
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("point binary format is write-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("point binary format is write-only", inputMessage);
+    }
+}
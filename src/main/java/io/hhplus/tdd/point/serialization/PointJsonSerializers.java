@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * UserPoint, PointHistory 전용 JSON 직렬화
+ * - 리플렉션 기반 BeanSerializer 대신 JsonGenerator 로 필드를 직접 씁니다.
+ * - 필드 이름과 enum 값은 미리 인코딩해 둔 SerializedString 을 재사용합니다.
+ */
+@JsonComponent
+public class PointJsonSerializers {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString POINT = new SerializedString("point");
+    private static final SerializedString USER_ID = new SerializedString("userId");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString UPDATE_MILLIS = new SerializedString("updateMillis");
+
+    private static final SerializedString[] TYPE_NAMES = new SerializedString[TransactionType.values().length];
+    static {
+        for (TransactionType type : TransactionType.values()) {
+            TYPE_NAMES[type.ordinal()] = new SerializedString(type.name());
+        }
+    }
+
+    // 스프링 컨텍스트 밖(벤치마크 등)에서 같은 직렬화를 쓰기 위한 모듈
+    public static SimpleModule module() {
+        SimpleModule module = new SimpleModule("PointJsonSerializers");
+        module.addSerializer(UserPoint.class, new UserPointSerializer());
+        module.addSerializer(PointHistory.class, new PointHistorySerializer());
+        return module;
+    }
+
+    public static class UserPointSerializer extends JsonSerializer<UserPoint> {
+        @Override
+        public void serialize(UserPoint value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(ID);
+            gen.writeNumber(value.id());
+            gen.writeFieldName(POINT);
+            gen.writeNumber(value.point());
+            gen.writeFieldName(UPDATE_MILLIS);
+            gen.writeNumber(value.updateMillis());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class PointHistorySerializer extends JsonSerializer<PointHistory> {
+        @Override
+        public void serialize(PointHistory value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            gen.writeFieldName(ID);
+            gen.writeNumber(value.id());
+            gen.writeFieldName(USER_ID);
+            gen.writeNumber(value.userId());
+            gen.writeFieldName(AMOUNT);
+            gen.writeNumber(value.amount());
+            gen.writeFieldName(TYPE);
+            gen.writeString(TYPE_NAMES[value.type().ordinal()]);
+            gen.writeFieldName(UPDATE_MILLIS);
+            gen.writeNumber(value.updateMillis());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.hotkey.HotKeyLanes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncPointServiceTest {
+
+    @Mock
+    private PointService pointService;
+
+    @Mock
+    private HotKeyLanes hotKeyLanes;
+
+    private AsyncPointService asyncPointService;
+
+    @AfterEach
+    void tearDown() {
+        if (asyncPointService != null) {
+            asyncPointService.shutdown();
+        }
+    }
+
+    @Test
+    void sameUserRequestsRunInOrderWithoutOverlap() {
+        // 같은 사용자의 요청은 I/O 스레드가 여러 개여도 요청 순서대로 하나씩 실행되어야 함
+        asyncPointService = new AsyncPointService(pointService, hotKeyLanes, 8, 100, 1000);
+        long userId = 1L;
+        List<Long> executed = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        when(pointService.tryChargePoint(eq(userId), anyLong(), any(RequestDeadline.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            long amount = invocation.getArgument(1);
+            Thread.sleep(1);
+            executed.add(amount);
+            running.decrementAndGet();
+            return new UserPoint(userId, amount, System.currentTimeMillis());
+        });
+
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        List<Long> expected = new ArrayList<>();
+        for (long amount = 1; amount <= 50; amount++) {
+            futures.add(asyncPointService.chargePoint(userId, amount, RequestDeadline.none()));
+            expected.add(amount);
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertThat(executed).containsExactlyElementsOf(expected);
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(asyncPointService.inFlight()).isZero();
+    }
+
+    @Test
+    void differentUsersRunConcurrently() throws InterruptedException {
+        // 한 사용자의 작업이 끝나지 않아도 다른 사용자의 작업은 진행되어야 함
+        asyncPointService = new AsyncPointService(pointService, hotKeyLanes, 2, 100, 1000);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(pointService.getUserPoint(eq(1L), any(RequestDeadline.class))).thenAnswer(invocation -> {
+            release.await();
+            return UserPoint.empty(1L);
+        });
+        when(pointService.getUserPoint(eq(2L), any(RequestDeadline.class))).thenReturn(UserPoint.empty(2L));
+
+        CompletableFuture<UserPoint> blocked = asyncPointService.getUserPoint(1L, RequestDeadline.none());
+        CompletableFuture<UserPoint> other = asyncPointService.getUserPoint(2L, RequestDeadline.none());
+
+        assertThat(other.orTimeout(1, TimeUnit.SECONDS).join().id()).isEqualTo(2L);
+        assertThat(blocked).isNotDone();
+
+        release.countDown();
+        assertThat(blocked.join().id()).isEqualTo(1L);
+    }
+
+    @Test
+    void rejectsWhenInFlightLimitExceeded() {
+        // 처리 중인 요청 수가 한도를 넘으면 대기시키지 않고 SERVER_BUSY 로 실패
+        asyncPointService = new AsyncPointService(pointService, hotKeyLanes, 1, 10, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointService.getUserPoint(eq(1L), any(RequestDeadline.class))).thenAnswer(invocation -> {
+            release.await();
+            return UserPoint.empty(1L);
+        });
+
+        CompletableFuture<UserPoint> first = asyncPointService.getUserPoint(1L, RequestDeadline.none());
+        CompletableFuture<UserPoint> second = asyncPointService.getUserPoint(2L, RequestDeadline.none());
+
+        assertThatThrownBy(second::join)
+                .hasCauseInstanceOf(PointException.class)
+                .cause()
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.SERVER_BUSY);
+
+        release.countDown();
+        assertThat(first.join().id()).isEqualTo(1L);
+    }
+
+    @Test
+    void longRejectedChainDoesNotOverflowStack() throws InterruptedException {
+        // 같은 사용자의 긴 체인이 연달아 거절되어도 다음 작업을 같은 스택에서 실행하지 않아야 함
+        asyncPointService = new AsyncPointService(pointService, hotKeyLanes, 1, 1, 100_000);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pointService.getUserPoint(eq(1L), any(RequestDeadline.class))).thenAnswer(invocation -> {
+            release.await();
+            return UserPoint.empty(1L);
+        });
+        when(pointService.getUserPoint(eq(2L), any(RequestDeadline.class))).thenReturn(UserPoint.empty(2L));
+
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        futures.add(asyncPointService.getUserPoint(1L, RequestDeadline.none()));
+        for (int i = 0; i < 20_000; i++) {
+            futures.add(asyncPointService.getUserPoint(1L, RequestDeadline.none()));
+        }
+        // I/O 스레드가 첫 작업을 끝낼 때 대기열이 가득 차 있도록 다른 사용자 작업을 넣어 둠
+        Thread.sleep(50);
+        futures.add(asyncPointService.getUserPoint(2L, RequestDeadline.none()));
+        release.countDown();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .exceptionally(e -> null)
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+        assertThat(futures).allMatch(CompletableFuture::isDone);
+    }
+
+    @Test
+    void readAfterLaneChargeWaitsForLane() {
+        // 같은 레인으로 보낸 충전은 연달아 넘기고, 뒤의 조회는 레인 처리가 끝난 뒤에 실행되어야 함
+        asyncPointService = new AsyncPointService(pointService, hotKeyLanes, 2, 100, 1000);
+        long userId = 1L;
+        HotKeyLanes.Lane lane = mock(HotKeyLanes.Lane.class);
+        CompletableFuture<UserPoint> firstCharge = new CompletableFuture<>();
+        CompletableFuture<UserPoint> secondCharge = new CompletableFuture<>();
+        when(hotKeyLanes.route(userId)).thenReturn(lane);
+        when(lane.charge(eq(100L), any(RequestDeadline.class))).thenReturn(firstCharge);
+        when(lane.charge(eq(200L), any(RequestDeadline.class))).thenReturn(secondCharge);
+        when(pointService.getUserPoint(eq(userId), any(RequestDeadline.class)))
+                .thenReturn(new UserPoint(userId, 300L, System.currentTimeMillis()));
+
+        CompletableFuture<UserPoint> first = asyncPointService.chargePoint(userId, 100L, RequestDeadline.none());
+        CompletableFuture<UserPoint> second = asyncPointService.chargePoint(userId, 200L, RequestDeadline.none());
+        CompletableFuture<UserPoint> read = asyncPointService.getUserPoint(userId, RequestDeadline.none());
+
+        verify(lane).charge(eq(200L), any(RequestDeadline.class));
+        assertThat(asyncPointService.inFlight()).isEqualTo(3);
+        verify(pointService, after(100).never()).getUserPoint(eq(userId), any(RequestDeadline.class));
+
+        firstCharge.complete(new UserPoint(userId, 100L, System.currentTimeMillis()));
+        secondCharge.complete(new UserPoint(userId, 300L, System.currentTimeMillis()));
+
+        assertThat(read.orTimeout(1, TimeUnit.SECONDS).join().point()).isEqualTo(300L);
+        assertThat(first.join().point()).isEqualTo(100L);
+        assertThat(second.join().point()).isEqualTo(300L);
+    }
+
+    @Test
+    void busyUserLockDoesNotHoldIoThread() {
+        // 사용자 락이 다른 요청(동기 API 등)에 잡혀 있으면 I/O 스레드를 놓고 다시 시도하므로
+        // I/O 스레드가 하나여도 다른 사용자의 요청은 먼저 처리되어야 함
+        asyncPointService = new AsyncPointService(pointService, hotKeyLanes, 1, 100, 1000);
+        AtomicBoolean lockReleased = new AtomicBoolean();
+        AtomicInteger attempts = new AtomicInteger();
+        when(pointService.tryChargePoint(eq(1L), eq(100L), any(RequestDeadline.class))).thenAnswer(invocation -> {
+            attempts.incrementAndGet();
+            return lockReleased.get() ? new UserPoint(1L, 100L, System.currentTimeMillis()) : null;
+        });
+        when(pointService.getUserPoint(eq(2L), any(RequestDeadline.class))).thenReturn(UserPoint.empty(2L));
+
+        CompletableFuture<UserPoint> charge = asyncPointService.chargePoint(1L, 100L, RequestDeadline.none());
+        CompletableFuture<UserPoint> other = asyncPointService.getUserPoint(2L, RequestDeadline.none());
+
+        assertThat(other.orTimeout(1, TimeUnit.SECONDS).join().id()).isEqualTo(2L);
+        assertThat(charge).isNotDone();
+
+        lockReleased.set(true);
+        assertThat(charge.orTimeout(1, TimeUnit.SECONDS).join().point()).isEqualTo(100L);
+        assertThat(attempts.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void invalidAmountFailsWithoutSubmitting() {
+        asyncPointService = new AsyncPointService(pointService, hotKeyLanes, 1, 10, 10);
+
+        assertThatThrownBy(() -> asyncPointService.usePoint(1L, 0L, RequestDeadline.none()).join())
+                .hasCauseInstanceOf(PointException.class);
+        assertThat(asyncPointService.inFlight()).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.exception.PointException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointAmountArgumentResolverTest {
+
+    private final PointAmountArgumentResolver resolver = new PointAmountArgumentResolver();
+
+    @Test
+    void parsesLongBoundaries() {
+        assertThat(parse(Long.toString(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(parse(Long.toString(Long.MIN_VALUE))).isEqualTo(Long.MIN_VALUE);
+        assertThat(parse("0")).isZero();
+    }
+
+    @Test
+    void rejectsOverflow() {
+        assertInvalid("9223372036854775808");
+        assertInvalid("-9223372036854775809");
+        assertInvalid("99999999999999999999");
+    }
+
+    @Test
+    void parsesSignWhitespaceAndQuotes() {
+        assertThat(parse("+100")).isEqualTo(100L);
+        assertThat(parse("-100")).isEqualTo(-100L);
+        assertThat(parse(" \t100\r\n")).isEqualTo(100L);
+        assertThat(parse("\"100\"")).isEqualTo(100L);
+        assertThat(parse(" \"-5\" ")).isEqualTo(-5L);
+    }
+
+    @Test
+    void rejectsMalformedAmounts() {
+        assertInvalid("");
+        assertInvalid("   ");
+        assertInvalid("+");
+        assertInvalid("-");
+        assertInvalid("\"\"");
+        assertInvalid("\"100");
+        assertInvalid("12a");
+        assertInvalid("1.5");
+        assertInvalid("1 000");
+        assertInvalid("--1");
+        assertInvalid("{\"amount\":1}");
+    }
+
+    @Test
+    void readsAmountFromBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/1/charge");
+        request.setContent("1500".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(resolve(request)).isEqualTo(1500L);
+    }
+
+    @Test
+    void emptyBodyIsInvalid() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/1/charge");
+        request.setContent(new byte[0]);
+
+        assertThatThrownBy(() -> resolve(request))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.INVALID_AMOUNT);
+    }
+
+    @Test
+    void bodyLongerThanLimitIsInvalid() {
+        // 앞뒤 공백을 포함해도 32바이트를 넘는 바디는 끝까지 읽지 않고 거절
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/1/charge");
+        request.setContent((" ".repeat(30) + "100").getBytes(StandardCharsets.US_ASCII));
+
+        assertThatThrownBy(() -> resolve(request))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.INVALID_AMOUNT);
+    }
+
+    @Test
+    void queryStringAmountTakesPrecedenceOverBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/1/charge");
+        request.setQueryString("source=app&amount=%2B700");
+        request.setContent("1500".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(resolve(request)).isEqualTo(700L);
+    }
+
+    @Test
+    void formEncodedBodyIsNotReadAsParameter() throws Exception {
+        // 폼 인코딩 요청이어도 amount 는 쿼리 스트링에서만 찾고, 없으면 바디 전체를 금액으로 읽음
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/point/1/charge");
+        request.setContentType("application/x-www-form-urlencoded");
+        request.addParameter("amount", "999");
+        request.setContent("300".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(resolve(request)).isEqualTo(300L);
+    }
+
+    @Test
+    void findsOnlyExactQueryParameterName() {
+        assertThat(PointAmountArgumentResolver.queryParameter("amounts=1&amount=2", "amount")).isEqualTo("2");
+        assertThat(PointAmountArgumentResolver.queryParameter("xamount=1", "amount")).isNull();
+        assertThat(PointAmountArgumentResolver.queryParameter("amount", "amount")).isEmpty();
+        assertThat(PointAmountArgumentResolver.queryParameter(null, "amount")).isNull();
+    }
+
+    private Object resolve(MockHttpServletRequest request) throws Exception {
+        return resolver.resolveArgument(null, null, new ServletWebRequest(request), null);
+    }
+
+    private static long parse(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        return PointAmountArgumentResolver.parseAmount(bytes, bytes.length);
+    }
+
+    private static void assertInvalid(String value) {
+        assertThatThrownBy(() -> parse(value))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.INVALID_AMOUNT);
+    }
+}
@@ -1,18 +1,29 @@
 package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.hotkey.HotKeyLanes;
+import io.hhplus.tdd.point.serialization.PointBinaryCodec;
+import io.hhplus.tdd.point.serialization.PointBinaryHttpMessageConverter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PointController.class)
@@ -24,14 +35,17 @@ class PointControllerTest {
     @MockBean
     private PointService pointService;
 
+    @MockBean
+    private HotKeyLanes hotKeyLanes;
+
     @BeforeEach
     void setUp() {
         // 기본 사용자 데이터 설정 - 모든 테스트에서 공통으로 사용
         UserPoint user1 = new UserPoint(1L, 1000L, System.currentTimeMillis());
-        when(pointService.getUserPoint(1L)).thenReturn(user1);
+        when(pointService.getUserPoint(eq(1L), any(RequestDeadline.class))).thenReturn(user1);
 
         UserPoint user2 = new UserPoint(2L, 500L, System.currentTimeMillis());
-        when(pointService.getUserPoint(2L)).thenReturn(user2);
+        when(pointService.getUserPoint(eq(2L), any(RequestDeadline.class))).thenReturn(user2);
     }
 
     @Test
@@ -50,7 +64,7 @@ class PointControllerTest {
         // 존재하지 않는 사용자 ID와 빈 포인트 정보 설정
         long userId = 999L;
         UserPoint emptyUserPoint = UserPoint.empty(userId);
-        when(pointService.getUserPoint(userId)).thenReturn(emptyUserPoint);
+        when(pointService.getUserPoint(eq(userId), any(RequestDeadline.class))).thenReturn(emptyUserPoint);
 
         mockMvc.perform(get("/point/{id}", userId))
                 .andExpect(status().isOk())
@@ -65,7 +79,7 @@ class PointControllerTest {
         long userId = 1L;
         long chargeAmount = 500L;
         UserPoint updatedUserPoint = new UserPoint(userId, 1500L, System.currentTimeMillis());
-        when(pointService.chargePoint(userId, chargeAmount)).thenReturn(updatedUserPoint);
+        when(pointService.chargePoint(eq(userId), eq(chargeAmount), any(RequestDeadline.class))).thenReturn(updatedUserPoint);
 
         mockMvc.perform(patch("/point/{id}/charge", userId)
                 .contentType("application/json")
@@ -82,7 +96,7 @@ class PointControllerTest {
         long userId = 2L;
         long useAmount = 200L;
         UserPoint updatedUserPoint = new UserPoint(userId, 300L, System.currentTimeMillis());
-        when(pointService.usePoint(userId, useAmount)).thenReturn(updatedUserPoint);
+        when(pointService.usePoint(eq(userId), eq(useAmount), any(RequestDeadline.class))).thenReturn(updatedUserPoint);
 
         mockMvc.perform(patch("/point/{id}/use", userId)
                 .contentType("application/json")
@@ -100,7 +114,7 @@ class PointControllerTest {
         List<PointHistory> expectedHistory = List.of(
             new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, System.currentTimeMillis())
         );
-        when(pointService.getUserPointHistory(userId)).thenReturn(expectedHistory);
+        when(pointService.getUserPointHistory(eq(userId), any(RequestDeadline.class))).thenReturn(expectedHistory);
         mockMvc.perform(get("/point/{id}/histories", userId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].userId").value(userId))
@@ -112,7 +126,7 @@ class PointControllerTest {
     void chargePointWithInvalidAmount_returnError() throws Exception {
         long userId = 1L;
         long invalidAmount = 0L;
-        when(pointService.chargePoint(userId, invalidAmount))
+        when(pointService.chargePoint(eq(userId), eq(invalidAmount), any(RequestDeadline.class)))
                 .thenThrow(PointException.invalidAmount(invalidAmount));
 
         mockMvc.perform(patch("/point/{id}/charge", userId)
@@ -126,7 +140,7 @@ class PointControllerTest {
     void chargePointForNonExistentUser_returnError() throws Exception {
         long userId = 999L;
         long amount = 100L;
-        when(pointService.chargePoint(userId, amount))
+        when(pointService.chargePoint(eq(userId), eq(amount), any(RequestDeadline.class)))
                 .thenThrow(PointException.userNotFound(userId));
 
         mockMvc.perform(patch("/point/{id}/charge", userId)
@@ -140,7 +154,7 @@ class PointControllerTest {
     void usePointWithInvalidAmount_returnError() throws Exception {
         long userId = 1L;
         long invalidAmount = -100L;
-        when(pointService.usePoint(userId, invalidAmount))
+        when(pointService.usePoint(eq(userId), eq(invalidAmount), any(RequestDeadline.class)))
                 .thenThrow(PointException.invalidAmount(invalidAmount));
 
         mockMvc.perform(patch("/point/{id}/use", userId)
@@ -154,7 +168,7 @@ class PointControllerTest {
     void usePointForNonExistentUser_returnError() throws Exception {
         long userId = 999L;
         long amount = 100L;
-        when(pointService.usePoint(userId, amount))
+        when(pointService.usePoint(eq(userId), eq(amount), any(RequestDeadline.class)))
                 .thenThrow(PointException.userNotFound(userId));
 
         mockMvc.perform(patch("/point/{id}/use", userId)
@@ -168,7 +182,7 @@ class PointControllerTest {
     void usePointWithInsufficientBalance_returnError() throws Exception {
         long userId = 2L;
         long amount = 1000L; // 보유 포인트(500)보다 큰 금액
-        when(pointService.usePoint(userId, amount))
+        when(pointService.usePoint(eq(userId), eq(amount), any(RequestDeadline.class)))
                 .thenThrow(PointException.insufficientPoint(userId, amount, 500L));
 
         mockMvc.perform(patch("/point/{id}/use", userId)
@@ -177,4 +191,119 @@ class PointControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errorCode").value("INSUFFICIENT_POINT"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void chargePointTimeout_returnError() throws Exception {
+        // 마감 시간 내에 락을 얻지 못한 요청은 타임아웃 응답
+        long userId = 1L;
+        long amount = 100L;
+        when(pointService.chargePoint(eq(userId), eq(amount), any(RequestDeadline.class)))
+                .thenThrow(PointException.requestTimeout(userId));
+
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                .header(PointController.TIMEOUT_HEADER, 50)
+                .contentType("application/json")
+                .content(String.valueOf(amount)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value("REQUEST_TIMEOUT"));
+    }
+
+    @Test
+    void getUserPointHistoryAsBinary() throws Exception {
+        // Accept 헤더로 바이너리 응답을 요청하면 PointBinaryCodec 형식으로 응답
+        long userId = 1L;
+        List<PointHistory> expectedHistory = List.of(
+            new PointHistory(1L, userId, 1000L, TransactionType.CHARGE, System.currentTimeMillis()),
+            new PointHistory(2L, userId, 300L, TransactionType.USE, System.currentTimeMillis())
+        );
+        when(pointService.getUserPointHistory(eq(userId), any(RequestDeadline.class))).thenReturn(expectedHistory);
+
+        MvcResult result = mockMvc.perform(get("/point/{id}/histories", userId)
+                .accept(PointBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andReturn();
+
+        assertThat(PointBinaryCodec.readHistories(result.getResponse().getContentAsByteArray()))
+                .isEqualTo(expectedHistory);
+    }
+
+    @Test
+    void getUserPointHistoryAsBinary_returnJsonError() throws Exception {
+        // 바이너리 응답을 요청해도 에러 응답은 JSON 으로 내려줌
+        long userId = 999L;
+        when(pointService.getUserPointHistory(eq(userId), any(RequestDeadline.class)))
+                .thenThrow(PointException.userNotFound(userId));
+
+        mockMvc.perform(get("/point/{id}/histories", userId)
+                .accept(PointBinaryHttpMessageConverter.MEDIA_TYPE))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(jsonPath("$.errorCode").value("USER_NOT_FOUND"));
+    }
+
+    @Test
+    void chargeUserPointWithQueryParameter() throws Exception {
+        // 본문 대신 쿼리 파라미터로 금액을 전달
+        long userId = 1L;
+        long chargeAmount = 500L;
+        UserPoint updatedUserPoint = new UserPoint(userId, 1500L, System.currentTimeMillis());
+        when(pointService.chargePoint(eq(userId), eq(chargeAmount), any(RequestDeadline.class))).thenReturn(updatedUserPoint);
+
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                .param("amount", String.valueOf(chargeAmount)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(1500L));
+    }
+
+    @Test
+    void chargePointWithMalformedAmount_returnError() throws Exception {
+        // 숫자가 아닌 본문은 서비스 호출 없이 INVALID_AMOUNT
+        long userId = 1L;
+
+        mockMvc.perform(patch("/point/{id}/charge", userId)
+                .contentType("application/json")
+                .content("12abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_AMOUNT"));
+
+        verify(pointService, never()).chargePoint(anyLong(), anyLong(), any(RequestDeadline.class));
+    }
+
+    @Test
+    void transferPoint() throws Exception {
+        // POST 요청으로 사용자 간 포인트 이체
+        long fromId = 1L;
+        long toId = 2L;
+        long amount = 300L;
+        PointTransfer transfer = new PointTransfer(
+                new UserPoint(fromId, 700L, System.currentTimeMillis()),
+                new UserPoint(toId, 800L, System.currentTimeMillis()));
+        when(pointService.transferPoint(eq(fromId), eq(toId), eq(amount), any(RequestDeadline.class))).thenReturn(transfer);
+
+        mockMvc.perform(post("/point/{fromId}/transfer/{toId}", fromId, toId)
+                .contentType("application/json")
+                .content(String.valueOf(amount)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.id").value(fromId))
+                .andExpect(jsonPath("$.from.point").value(700L))
+                .andExpect(jsonPath("$.to.id").value(toId))
+                .andExpect(jsonPath("$.to.point").value(800L));
+    }
+
+    @Test
+    void getLeaderboard() throws Exception {
+        // 상위 N명 순위 조회
+        List<LeaderboardEntry> leaderboard = List.of(
+                new LeaderboardEntry(1L, 1L, 1000L),
+                new LeaderboardEntry(2L, 2L, 500L)
+        );
+        when(pointService.getLeaderboard(2)).thenReturn(leaderboard);
+
+        mockMvc.perform(get("/point/leaderboard").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rank").value(1L))
+                .andExpect(jsonPath("$[0].userId").value(1L))
+                .andExpect(jsonPath("$[1].point").value(500L));
+    }
+}
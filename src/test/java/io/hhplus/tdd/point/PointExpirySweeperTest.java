@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PointExpirySweeperTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    @Mock
+    private PointService pointService;
+
+    private final PointLotStore pointLotStore = new PointLotStore(Duration.ofDays(30), Duration.ofMinutes(1));
+
+    private PointExpirySweeper sweeper;
+
+    @AfterEach
+    void tearDown() {
+        if (sweeper != null) {
+            sweeper.stop();
+        }
+    }
+
+    @Test
+    void sweepExpiresDueUsersAndReschedulesLockedOnes() throws InterruptedException {
+        // 만료 버킷의 사용자를 처리하고, 락을 얻지 못한 사용자는 다음 스윕으로 미룸
+        sweeper = new PointExpirySweeper(pointService, pointLotStore, true, Duration.ofHours(1), 2);
+        sweeper.start();
+        long now = 30 * DAY;
+        pointLotStore.addLot(1L, 100L, 0L);
+        pointLotStore.addLot(2L, 100L, 0L);
+        pointLotStore.addLot(3L, 100L, DAY);
+        when(pointService.expirePoints(1L, now)).thenReturn(true);
+        when(pointService.expirePoints(2L, now)).thenReturn(false);
+
+        assertThat(sweeper.sweep(now)).isEqualTo(2);
+
+        verify(pointService).expirePoints(1L, now);
+        verify(pointService).expirePoints(2L, now);
+        assertThat(pointLotStore.pollDueUsers(now)).containsExactly(2L);
+    }
+
+    @Test
+    void sweepReschedulesUsersWhoseExpiryFailed() throws InterruptedException {
+        // 소멸 기록 중 예외가 난 사용자는 lot 이 남아 있으므로 다음 스윕에서 다시 처리
+        sweeper = new PointExpirySweeper(pointService, pointLotStore, true, Duration.ofHours(1), 2);
+        sweeper.start();
+        long now = 30 * DAY;
+        pointLotStore.addLot(1L, 100L, 0L);
+        pointLotStore.addLot(2L, 100L, 0L);
+        when(pointService.expirePoints(1L, now)).thenThrow(new IllegalStateException("history unavailable"));
+        when(pointService.expirePoints(2L, now)).thenReturn(true);
+
+        assertThat(sweeper.sweep(now)).isEqualTo(2);
+
+        assertThat(pointLotStore.pollDueUsers(now)).containsExactly(1L);
+    }
+
+    @Test
+    void sweepProcessesManyUsersWithFewWorkers() throws InterruptedException {
+        // 사용자 수보다 워커가 적어도 모든 사용자를 한 번씩 처리
+        sweeper = new PointExpirySweeper(pointService, pointLotStore, true, Duration.ofHours(1), 3);
+        sweeper.start();
+        long now = 30 * DAY;
+        for (long userId = 1; userId <= 100; userId++) {
+            pointLotStore.addLot(userId, 100L, 0L);
+        }
+        when(pointService.expirePoints(anyLong(), eq(now))).thenReturn(true);
+
+        assertThat(sweeper.sweep(now)).isEqualTo(100);
+
+        for (long userId = 1; userId <= 100; userId++) {
+            verify(pointService).expirePoints(userId, now);
+        }
+        assertThat(pointLotStore.pollDueUsers(now)).isEmpty();
+    }
+
+    @Test
+    void sweepBeforeStartFails() {
+        sweeper = new PointExpirySweeper(pointService, pointLotStore, false, Duration.ofSeconds(10), 1);
+        sweeper.start();
+
+        assertThatThrownBy(() -> sweeper.sweep(30 * DAY))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
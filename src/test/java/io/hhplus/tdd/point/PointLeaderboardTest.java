@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointLeaderboardTest {
+
+    @Test
+    void orderedByPointThenUserId() {
+        // 잔액 내림차순, 같은 잔액이면 userId 오름차순
+        PointLeaderboard leaderboard = new PointLeaderboard();
+        leaderboard.update(3L, 500L);
+        leaderboard.update(1L, 1000L);
+        leaderboard.update(2L, 500L);
+
+        assertThat(leaderboard.top(10)).containsExactly(
+                new LeaderboardEntry(1L, 1L, 1000L),
+                new LeaderboardEntry(2L, 2L, 500L),
+                new LeaderboardEntry(3L, 3L, 500L)
+        );
+        assertThat(leaderboard.top(1)).hasSize(1);
+    }
+
+    @Test
+    void updateMovesUser() {
+        // 잔액이 바뀌면 기존 위치에서 빠지고 새 위치로 이동
+        PointLeaderboard leaderboard = new PointLeaderboard();
+        leaderboard.update(1L, 1000L);
+        leaderboard.update(2L, 500L);
+
+        leaderboard.update(2L, 2000L);
+
+        assertThat(leaderboard.size()).isEqualTo(2);
+        assertThat(leaderboard.rankOf(2L)).contains(new LeaderboardEntry(1L, 2L, 2000L));
+        assertThat(leaderboard.rankOf(1L)).contains(new LeaderboardEntry(2L, 1L, 1000L));
+        assertThat(leaderboard.rankOf(3L)).isEmpty();
+    }
+
+    @Test
+    void staleVersionIsIgnored() {
+        // 사용자 락 밖에서 갱신 순서가 뒤바뀌어도 먼저 발급된 버전의 잔액으로 되돌아가지 않음
+        PointLeaderboard leaderboard = new PointLeaderboard();
+        long older = leaderboard.nextVersion();
+        long newer = leaderboard.nextVersion();
+
+        leaderboard.update(1L, 2000L, newer);
+        leaderboard.update(1L, 1000L, older);
+
+        assertThat(leaderboard.rankOf(1L)).contains(new LeaderboardEntry(1L, 1L, 2000L));
+    }
+
+    @Test
+    void matchesFullSortAfterRandomUpdates() {
+        // 무작위 갱신 후 top/rank 결과가 전체 정렬 결과와 같아야 함
+        PointLeaderboard leaderboard = new PointLeaderboard();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            long userId = random.nextInt(2_000);
+            long point = random.nextInt(300);
+            leaderboard.update(userId, point);
+            expected.put(userId, point);
+        }
+
+        List<Map.Entry<Long, Long>> sorted = new ArrayList<>(expected.entrySet());
+        sorted.sort(Comparator.<Map.Entry<Long, Long>>comparingLong(Map.Entry::getValue).reversed()
+                .thenComparingLong(Map.Entry::getKey));
+
+        List<LeaderboardEntry> top = leaderboard.top(100);
+        for (int i = 0; i < top.size(); i++) {
+            assertThat(top.get(i).userId()).isEqualTo(sorted.get(i).getKey());
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            assertThat(leaderboard.rankOf(sorted.get(i).getKey()).orElseThrow().rank()).isEqualTo(i + 1);
+        }
+    }
+}
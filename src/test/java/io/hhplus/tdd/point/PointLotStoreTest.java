@@ -0,0 +1,113 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointLotStoreTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    private final PointLotStore pointLotStore = new PointLotStore(Duration.ofDays(30), Duration.ofMinutes(1));
+
+    @Test
+    void consumeOldestLotFirst() {
+        // 먼저 충전한(먼저 만료되는) lot 부터 차감
+        long userId = 1L;
+        pointLotStore.addLot(userId, 100L, 0L);
+        pointLotStore.addLot(userId, 200L, DAY);
+
+        pointLotStore.consume(userId, 150L);
+
+        // 첫 번째 lot 은 모두 사용되어 만료될 포인트가 없고, 두 번째 lot 은 150 남음
+        assertThat(pointLotStore.expire(userId, 30 * DAY)).isZero();
+        assertThat(pointLotStore.expire(userId, 31 * DAY)).isEqualTo(150L);
+        assertThat(pointLotStore.expire(userId, 365 * DAY)).isZero();
+    }
+
+    @Test
+    void expireOnlyLotsPastExpiry() {
+        long userId = 1L;
+        pointLotStore.addLot(userId, 100L, 0L);
+        pointLotStore.addLot(userId, 200L, 10 * DAY);
+
+        assertThat(pointLotStore.expire(userId, 30 * DAY - 1)).isZero();
+        assertThat(pointLotStore.expire(userId, 30 * DAY)).isEqualTo(100L);
+        assertThat(pointLotStore.expire(userId, 40 * DAY)).isEqualTo(200L);
+    }
+
+    @Test
+    void expiredAmountDoesNotRemoveLots() {
+        // 소멸 기록이 끝나기 전까지는 lot 을 그대로 두고 합계만 계산
+        long userId = 1L;
+        pointLotStore.addLot(userId, 100L, 0L);
+        pointLotStore.addLot(userId, 200L, 10 * DAY);
+
+        assertThat(pointLotStore.expiredAmount(userId, 30 * DAY)).isEqualTo(100L);
+        assertThat(pointLotStore.expiredAmount(userId, 40 * DAY)).isEqualTo(300L);
+        assertThat(pointLotStore.expire(userId, 30 * DAY)).isEqualTo(100L);
+        assertThat(pointLotStore.expiredAmount(userId, 30 * DAY)).isZero();
+    }
+
+    @Test
+    void consumeMoreThanLotsUsesNonExpiringBalance() {
+        // lot 합계보다 많이 쓰면 lot 은 모두 사라지고 나머지는 기존 잔액에서 차감된 것으로 봄
+        long userId = 1L;
+        pointLotStore.addLot(userId, 100L, 0L);
+
+        pointLotStore.consume(userId, 500L);
+
+        assertThat(pointLotStore.expire(userId, 31 * DAY)).isZero();
+    }
+
+    @Test
+    void lotsInSameBucketAreMerged() {
+        // 같은 버킷에 만료되는 충전은 lot 하나로 합쳐지고 버킷 안의 늦은 만료 시각을 따름
+        long userId = 1L;
+        for (int i = 0; i < 1000; i++) {
+            pointLotStore.addLot(userId, 1L, i);
+        }
+
+        assertThat(pointLotStore.pollDueUsers(30 * DAY)).containsExactly(userId);
+        assertThat(pointLotStore.expire(userId, 30 * DAY + 998)).isZero();
+        assertThat(pointLotStore.expire(userId, 30 * DAY + 999)).isEqualTo(1000L);
+    }
+
+    @Test
+    void transferKeepsSenderExpiry() {
+        // 이체로 받은 포인트는 보낸 사용자의 lot 만료 시각을 이어받음
+        pointLotStore.addLot(1L, 100L, 0L);
+        pointLotStore.addLot(1L, 100L, 10 * DAY);
+
+        pointLotStore.transfer(1L, 2L, 150L);
+
+        assertThat(pointLotStore.expire(2L, 30 * DAY)).isEqualTo(100L);
+        assertThat(pointLotStore.expire(2L, 40 * DAY)).isEqualTo(50L);
+        assertThat(pointLotStore.expire(1L, 40 * DAY)).isEqualTo(50L);
+    }
+
+    @Test
+    void pollDueUsersReturnsOnlyElapsedBuckets() {
+        pointLotStore.addLot(1L, 100L, 0L);
+        pointLotStore.addLot(2L, 100L, DAY);
+
+        assertThat(pointLotStore.pollDueUsers(29 * DAY)).isEmpty();
+        assertThat(pointLotStore.pollDueUsers(30 * DAY)).containsExactly(1L);
+        // 꺼낸 버킷은 다시 나오지 않음
+        assertThat(pointLotStore.pollDueUsers(30 * DAY)).isEmpty();
+        assertThat(pointLotStore.pollDueUsers(31 * DAY)).containsExactly(2L);
+    }
+
+    @Test
+    void rescheduledUserIsPolledAgain() {
+        long now = 30 * DAY;
+        pointLotStore.addLot(1L, 100L, 0L);
+        assertThat(pointLotStore.pollDueUsers(now)).containsExactly(1L);
+
+        pointLotStore.reschedule(1L, now);
+
+        assertThat(pointLotStore.pollDueUsers(now)).containsExactly(1L);
+    }
+}
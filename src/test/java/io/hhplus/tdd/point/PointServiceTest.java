@@ -3,15 +3,30 @@ package io.hhplus.tdd.point;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.exception.PointException;
+import io.hhplus.tdd.point.export.PointHistoryExportLog;
+import io.hhplus.tdd.point.monitoring.PointOperationEvent;
+import io.hhplus.tdd.point.monitoring.PointTableEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -30,6 +45,15 @@ class PointServiceTest {
     @Mock
     private PointHistoryTable pointHistoryTable;
 
+    @Mock
+    private PointLeaderboard pointLeaderboard;
+
+    @Mock
+    private PointLotStore pointLotStore;
+
+    @Mock
+    private PointHistoryExportLog pointHistoryExportLog;
+
     @InjectMocks
     private PointService pointService;
 
@@ -66,6 +90,10 @@ class PointServiceTest {
 
         verify(pointHistoryTable).insert(eq(userId), eq(chargeAmount), eq(TransactionType.CHARGE), anyLong());
         verify(userPointTable).insertOrUpdate(eq(userId), eq(1500L));
+        // 순위 인덱스도 같은 임계영역에서 갱신
+        verify(pointLeaderboard).update(eq(userId), eq(1500L), anyLong());
+        // 충전 금액만큼 유효기간이 있는 lot 생성
+        verify(pointLotStore).addLot(eq(userId), eq(chargeAmount), anyLong());
     }
 
     @Test
@@ -410,4 +438,518 @@ class PointServiceTest {
         verify(pointHistoryTable).insert(eq(user1Id), eq(amount), eq(TransactionType.CHARGE), anyLong());
         verify(pointHistoryTable).insert(eq(user2Id), eq(amount), eq(TransactionType.USE), anyLong());
     }
+
+    @Test
+    void expiredDeadlineSkipsTableCalls() {
+        // 이미 마감 시각이 지난 요청은 테이블을 호출하지 않고 타임아웃 처리
+        long userId = 1L;
+        RequestDeadline expired = RequestDeadline.after(0);
+
+        assertThatThrownBy(() -> pointService.chargePoint(userId, 100L, expired))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.REQUEST_TIMEOUT);
+        assertThatThrownBy(() -> pointService.getUserPoint(userId, expired))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.REQUEST_TIMEOUT);
+
+        verify(userPointTable, never()).selectById(anyLong());
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    void deadlineExpiresWhileLockIsHeld() throws Exception {
+        // 앞선 요청이 락을 잡고 있는 동안 마감 시각이 지나면 REQUEST_TIMEOUT 으로 빠르게 실패하고,
+        // 마감 시각이 없는 요청은 락이 풀릴 때까지 기다렸다가 처리됨
+        long userId = 1L;
+        AtomicLong currentPoint = new AtomicLong(0L);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointTable.selectById(userId)).thenAnswer(invocation ->
+                new UserPoint(userId, currentPoint.get(), System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(eq(userId), anyLong())).thenAnswer(invocation -> {
+            long newPoint = invocation.getArgument(1);
+            if (newPoint == 100L) {
+                holding.countDown();
+                release.await();
+            }
+            currentPoint.set(newPoint);
+            return new UserPoint(userId, newPoint, System.currentTimeMillis());
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<UserPoint> holder = executor.submit(() -> pointService.chargePoint(userId, 100L, RequestDeadline.none()));
+            assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> pointService.chargePoint(userId, 10L, RequestDeadline.after(50)))
+                    .isInstanceOf(PointException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.REQUEST_TIMEOUT);
+
+            Future<UserPoint> unbounded = executor.submit(() -> pointService.chargePoint(userId, 20L, RequestDeadline.none()));
+            assertThat(unbounded.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(holder.get(1, TimeUnit.SECONDS).point()).isEqualTo(100L);
+            assertThat(unbounded.get(1, TimeUnit.SECONDS).point()).isEqualTo(120L);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        // 타임아웃된 요청은 히스토리를 남기지 않음
+        verify(pointHistoryTable, never()).insert(eq(userId), eq(10L), any(), anyLong());
+    }
+
+    @Test
+    void tryChargeReturnsNullWhileLockIsHeld() throws Exception {
+        // 비동기 API 용 충전은 락이 잡혀 있으면 기다리지 않고 null 을 반환하고 테이블을 호출하지 않음
+        long userId = 1L;
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 0L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(eq(userId), anyLong())).thenAnswer(invocation -> {
+            long newPoint = invocation.getArgument(1);
+            holding.countDown();
+            release.await();
+            return new UserPoint(userId, newPoint, System.currentTimeMillis());
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<UserPoint> holder = executor.submit(() -> pointService.chargePoint(userId, 100L, RequestDeadline.none()));
+            assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(pointService.tryChargePoint(userId, 10L, RequestDeadline.none())).isNull();
+            assertThat(pointService.tryUsePoint(userId, 10L, RequestDeadline.none())).isNull();
+
+            release.countDown();
+            holder.get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        verify(userPointTable, times(1)).selectById(userId);
+        verify(pointHistoryTable, never()).insert(eq(userId), eq(10L), any(), anyLong());
+    }
+
+    @Test
+    void nonPositiveDefaultTimeoutMeansNoDeadline() {
+        // 기본 마감 시간을 0 이하로 두면 헤더가 없는 요청은 마감 시각 없이 처리 (기준선 비교용)
+        assertThat(RequestDeadline.fromHeader(null, 0L).isBounded()).isFalse();
+        assertThat(RequestDeadline.fromHeader(null, 3000L).isBounded()).isTrue();
+        assertThat(RequestDeadline.fromHeader(100L, 0L).isBounded()).isTrue();
+    }
+
+    @Test
+    void largeTimeoutDoesNotOverflowDeadline() {
+        // 헤더로 아주 큰 마감 시간이 들어와도 이미 지난 요청으로 취급되지 않아야 함
+        RequestDeadline deadline = RequestDeadline.fromHeader(Long.MAX_VALUE, 3000L);
+
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(deadline.remainingNanos()).isPositive();
+    }
+
+    @Test
+    void pointExceptionIsStacklessAndFormatsMessageLazily() {
+        // 자주 발생하는 실패 경로이므로 스택 트레이스 없이 생성되고, 메시지는 조회 시점에 만들어짐
+        PointException e = PointException.insufficientPoint(2L, 1000L, 500L);
+
+        assertThat(e.getStackTrace()).isEmpty();
+        assertThat(e.getMessage()).isEqualTo("사용자 ID 2의 포인트가 부족합니다. 필요: 1000, 보유: 500");
+        assertThat(e.getMessage()).isSameAs(e.getMessage());
+
+        // 상세 정보가 없는 예외는 재사용
+        assertThat(PointException.of(PointException.ErrorCode.REQUEST_TIMEOUT))
+                .isSameAs(PointException.of(PointException.ErrorCode.REQUEST_TIMEOUT));
+    }
+
+    @Test
+    void transferPoint() {
+        // 보낸 사용자는 차감, 받은 사용자는 적립되고 히스토리가 쌍으로 기록되어야 함
+        long fromId = 1L;
+        long toId = 2L;
+        long amount = 300L;
+        when(userPointTable.selectById(fromId)).thenReturn(new UserPoint(fromId, 1000L, System.currentTimeMillis()));
+        when(userPointTable.selectById(toId)).thenReturn(new UserPoint(toId, 500L, System.currentTimeMillis()));
+
+        PointTransfer result = pointService.transferPoint(fromId, toId, amount);
+
+        assertThat(result.from().point()).isEqualTo(700L);
+        assertThat(result.to().point()).isEqualTo(800L);
+
+        verify(pointHistoryTable).insert(eq(fromId), eq(amount), eq(TransactionType.TRANSFER_OUT), anyLong());
+        verify(pointHistoryTable).insert(eq(toId), eq(amount), eq(TransactionType.TRANSFER_IN), anyLong());
+        verify(userPointTable).insertOrUpdate(fromId, 700L);
+        verify(userPointTable).insertOrUpdate(toId, 800L);
+    }
+
+    @Test
+    void transferPointWithInsufficientBalance() {
+        long fromId = 1L;
+        long toId = 2L;
+        when(userPointTable.selectById(fromId)).thenReturn(new UserPoint(fromId, 100L, System.currentTimeMillis()));
+
+        assertThatThrownBy(() -> pointService.transferPoint(fromId, toId, 300L))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.INSUFFICIENT_POINT);
+
+        // 한쪽만 기록되는 일이 없어야 함
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    void transferPointToSameUser() {
+        assertThatThrownBy(() -> pointService.transferPoint(1L, 1L, 100L))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.INVALID_TRANSFER);
+
+        verify(userPointTable, never()).selectById(anyLong());
+    }
+
+    @Test
+    void concurrentRandomTransfersConservePointsWithoutDeadlock() throws InterruptedException {
+        // 여러 스레드가 임의의 두 사용자 사이에서 양방향으로 이체해도
+        // 교착 상태 없이 끝나고 전체 포인트 합계가 유지되어야 함
+        int userCount = 8;
+        int threadCount = 16;
+        int transfersPerThread = 500;
+        long initialPoint = 10_000L;
+
+        Map<Long, AtomicLong> balances = new ConcurrentHashMap<>();
+        for (long id = 1; id <= userCount; id++) {
+            balances.put(id, new AtomicLong(initialPoint));
+        }
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            return new UserPoint(id, balances.get(id).get(), System.currentTimeMillis());
+        });
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            long newPoint = invocation.getArgument(1);
+            balances.get(id).set(newPoint);
+            return new UserPoint(id, newPoint, System.currentTimeMillis());
+        });
+
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < transfersPerThread; i++) {
+                    long fromId = random.nextLong(1, userCount + 1);
+                    long toId = random.nextLong(1, userCount + 1);
+                    if (fromId == toId) {
+                        continue;
+                    }
+                    try {
+                        pointService.transferPoint(fromId, toId, random.nextLong(1, 500));
+                        succeeded.incrementAndGet();
+                    } catch (PointException ignored) {
+                        // 잔액 부족은 정상적인 실패
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        // 교착 상태가 있으면 제한 시간 안에 끝나지 않음
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        long total = balances.values().stream().mapToLong(AtomicLong::get).sum();
+        assertThat(total).isEqualTo(initialPoint * userCount);
+        assertThat(balances.values()).allSatisfy(balance -> assertThat(balance.get()).isNotNegative());
+        assertThat(succeeded.get()).isPositive();
+    }
+
+    @Test
+    void recordsFlightRecorderEvents() throws Exception {
+        // 충전 한 건에 대해 전체 처리 이벤트와 테이블 호출 이벤트가 기록되어야 함
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+
+        Path file = Files.createTempFile("point-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PointOperationEvent.class);
+            recording.enable(PointTableEvent.class);
+            recording.start();
+            pointService.chargePoint(userId, 500L);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        RecordedEvent operation = events.stream()
+                .filter(event -> event.getEventType().getName().equals("io.hhplus.tdd.point.Operation"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(operation.getString("operation")).isEqualTo("CHARGE");
+        assertThat(operation.getLong("userId")).isEqualTo(userId);
+        assertThat(operation.getString("errorCode")).isNull();
+
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("io.hhplus.tdd.point.TableCall"))
+                .extracting(event -> event.getString("operation"))
+                .containsExactlyInAnyOrder("selectById", "insert", "insertOrUpdate");
+    }
+
+    @Test
+    void expirePoints() {
+        // 만료된 lot 합계만큼 차감하고 EXPIRE 히스토리 한 건을 남김
+        long userId = 1L;
+        long now = System.currentTimeMillis();
+        when(pointLotStore.expiredAmount(userId, now)).thenReturn(300L);
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, now));
+
+        assertThat(pointService.expirePoints(userId, now)).isTrue();
+
+        // lot 은 잔액과 히스토리를 모두 기록한 뒤에 제거
+        InOrder inOrder = inOrder(userPointTable, pointHistoryTable, pointLotStore);
+        inOrder.verify(userPointTable).insertOrUpdate(userId, 700L);
+        inOrder.verify(pointHistoryTable).insert(userId, 300L, TransactionType.EXPIRE, now);
+        inOrder.verify(pointLotStore).expire(userId, now);
+    }
+
+    @Test
+    void expirePointsKeepsLotsWhenHistoryInsertFails() {
+        // 히스토리를 남기지 못하면 잔액을 되돌리고 lot 을 남겨 다음 스윕에서 다시 소멸
+        long userId = 1L;
+        long now = System.currentTimeMillis();
+        when(pointLotStore.expiredAmount(userId, now)).thenReturn(300L);
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, now));
+        when(pointHistoryTable.insert(userId, 300L, TransactionType.EXPIRE, now))
+                .thenThrow(new IllegalStateException("history unavailable"));
+
+        assertThatThrownBy(() -> pointService.expirePoints(userId, now))
+                .isInstanceOf(IllegalStateException.class);
+
+        InOrder inOrder = inOrder(userPointTable);
+        inOrder.verify(userPointTable).insertOrUpdate(userId, 700L);
+        inOrder.verify(userPointTable).insertOrUpdate(userId, 1000L);
+        verify(pointLotStore, never()).expire(anyLong(), anyLong());
+    }
+
+    @Test
+    void expirePointsClampsToBalanceWhenLotsExceedIt() {
+        // lot 합계가 잔액보다 크면 잔액만큼만 소멸 (어긋남은 로그로 남김)
+        long userId = 1L;
+        long now = System.currentTimeMillis();
+        when(pointLotStore.expiredAmount(userId, now)).thenReturn(300L);
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 200L, now));
+
+        assertThat(pointService.expirePoints(userId, now)).isTrue();
+
+        verify(userPointTable).insertOrUpdate(userId, 0L);
+        verify(pointHistoryTable).insert(userId, 200L, TransactionType.EXPIRE, now);
+        verify(pointLotStore).expire(userId, now);
+    }
+
+    @Test
+    void expirePointsSkipsTableWhenNothingExpired() {
+        long userId = 1L;
+        long now = System.currentTimeMillis();
+        when(pointLotStore.expiredAmount(userId, now)).thenReturn(0L);
+
+        assertThat(pointService.expirePoints(userId, now)).isTrue();
+
+        // 다음 만료 버킷 등록을 위해 expire 는 호출됨
+        verify(pointLotStore).expire(userId, now);
+
+        verify(userPointTable, never()).selectById(anyLong());
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void expirePointsDoesNotWaitForBusyUser() throws InterruptedException {
+        // 사용자 요청이 락을 잡고 있으면 기다리지 않고 다음 스윕으로 미룸
+        long userId = 1L;
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> {
+            locked.countDown();
+            release.await();
+            return new UserPoint(userId, 1000L, System.currentTimeMillis());
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> pointService.chargePoint(userId, 100L));
+        locked.await();
+
+        assertThat(pointService.expirePoints(userId, System.currentTimeMillis())).isFalse();
+        verify(pointLotStore, never()).expiredAmount(anyLong(), anyLong());
+        verify(pointLotStore, never()).expire(anyLong(), anyLong());
+
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void chargePointAppendsHistoryToExportLog() {
+        // 테이블에 저장된 히스토리가 그대로 내보내기 로그에 추가됨
+        long userId = 1L;
+        PointHistory history = new PointHistory(1L, userId, 500L, TransactionType.CHARGE, System.currentTimeMillis());
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        when(pointHistoryTable.insert(eq(userId), eq(500L), eq(TransactionType.CHARGE), anyLong())).thenReturn(history);
+
+        pointService.chargePoint(userId, 500L);
+
+        verify(pointHistoryExportLog).enqueue(history);
+        verify(pointHistoryExportLog, never()).append(any());
+    }
+
+    @Test
+    void processBatchReadsAndUpdatesBalanceOnce() {
+        // 여러 요청을 잔액 조회/갱신 한 번으로 처리하고, 실패한 요청만 실패시킴
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+
+        PointCommand charge = PointCommand.charge(500L, RequestDeadline.none());
+        PointCommand overdraw = PointCommand.use(2000L, RequestDeadline.none());
+        PointCommand use = PointCommand.use(300L, RequestDeadline.none());
+        pointService.processBatch(userId, List.of(charge, overdraw, use));
+
+        assertThat(charge.result().join().point()).isEqualTo(1500L);
+        assertThat(use.result().join().point()).isEqualTo(1200L);
+        assertThatThrownBy(() -> overdraw.result().join())
+                .hasCauseInstanceOf(PointException.class);
+
+        verify(userPointTable, times(1)).selectById(userId);
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 1200L);
+        verify(pointHistoryTable).insert(eq(userId), eq(500L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointHistoryTable).insert(eq(userId), eq(300L), eq(TransactionType.USE), anyLong());
+        verify(pointLeaderboard).update(eq(userId), eq(1200L), anyLong());
+    }
+
+    @Test
+    void processBatchWaitsForLockOnlyUntilEarliestDeadline() throws Exception {
+        // 락이 잡혀 있으면 마감이 먼저 오는 요청만 REQUEST_TIMEOUT 으로 실패시키고, 나머지는 락을 얻은 뒤 처리
+        long userId = 1L;
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger selects = new AtomicInteger();
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> {
+            if (selects.incrementAndGet() == 1) {
+                locked.countDown();
+                release.await();
+            }
+            return new UserPoint(userId, 1000L, System.currentTimeMillis());
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        executor.submit(() -> pointService.chargePoint(userId, 100L));
+        locked.await();
+
+        PointCommand hurried = PointCommand.charge(500L, RequestDeadline.after(50));
+        PointCommand patient = PointCommand.charge(300L, RequestDeadline.none());
+        Future<?> batch = executor.submit(() -> pointService.processBatch(userId, List.of(hurried, patient)));
+
+        assertThatThrownBy(() -> hurried.result().get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PointException.class)
+                .cause()
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.REQUEST_TIMEOUT);
+        assertThat(patient.result()).isNotDone();
+
+        release.countDown();
+        batch.get(5, TimeUnit.SECONDS);
+        assertThat(patient.result().join().point()).isEqualTo(1300L);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void processBatchRecordsOneJfrEventPerBatch() throws Exception {
+        // 묶음 하나는 요청 수와 관계없이 BATCH 이벤트 한 건(금액 합계)으로 남음
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+
+        Path file = Files.createTempFile("point-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PointOperationEvent.class);
+            recording.start();
+            pointService.processBatch(userId, List.of(
+                    PointCommand.charge(500L, RequestDeadline.none()),
+                    PointCommand.use(200L, RequestDeadline.none())));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("io.hhplus.tdd.point.Operation"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("operation")).isEqualTo("BATCH");
+                    assertThat(event.getLong("userId")).isEqualTo(userId);
+                    assertThat(event.getLong("amount")).isEqualTo(700L);
+                    assertThat(event.getString("errorCode")).isNull();
+                });
+    }
+
+    @Test
+    void processBatchSkipsCancelledCommands() {
+        // 마감 시간이 지나 취소된 요청은 쓰기 없이 건너뜀
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+
+        PointCommand cancelled = PointCommand.charge(500L, RequestDeadline.none());
+        assertThat(cancelled.cancel()).isTrue();
+        pointService.processBatch(userId, List.of(cancelled));
+
+        assertThat(cancelled.result()).isNotDone();
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    @Test
+    void processBatchRevertsCommandsWithoutHistory() {
+        // 히스토리를 남기지 못한 요청부터는 잔액에서 되돌리고 실패, 앞선 요청은 그대로 완료
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            long amount = invocation.getArgument(1);
+            if (amount == 200L) {
+                throw new IllegalStateException("history insert failed");
+            }
+            return null;
+        });
+
+        PointCommand first = PointCommand.charge(100L, RequestDeadline.none());
+        PointCommand second = PointCommand.charge(200L, RequestDeadline.none());
+        PointCommand third = PointCommand.charge(300L, RequestDeadline.none());
+        pointService.processBatch(userId, List.of(first, second, third));
+
+        assertThat(first.result().join().point()).isEqualTo(1100L);
+        assertThatThrownBy(() -> second.result().join()).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> third.result().join()).hasCauseInstanceOf(IllegalStateException.class);
+
+        InOrder inOrder = inOrder(userPointTable);
+        inOrder.verify(userPointTable).insertOrUpdate(userId, 1600L);
+        inOrder.verify(userPointTable).insertOrUpdate(userId, 1100L);
+        verify(pointHistoryTable, never()).insert(eq(userId), eq(300L), eq(TransactionType.CHARGE), anyLong());
+        verify(pointLotStore).addLot(eq(userId), eq(100L), anyLong());
+        verify(pointLotStore, never()).addLot(eq(userId), eq(200L), anyLong());
+        verify(pointLeaderboard).update(eq(userId), eq(1100L), anyLong());
+    }
+
+    @Test
+    void processBatchWritesNoHistoryWhenBalanceUpdateFails() {
+        // 잔액 갱신이 실패하면 히스토리 없이 모두 실패
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 1000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, 1300L)).thenThrow(new IllegalStateException("update failed"));
+
+        PointCommand charge = PointCommand.charge(100L, RequestDeadline.none());
+        PointCommand other = PointCommand.charge(200L, RequestDeadline.none());
+        pointService.processBatch(userId, List.of(charge, other));
+
+        assertThatThrownBy(() -> charge.result().join()).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> other.result().join()).hasCauseInstanceOf(IllegalStateException.class);
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(pointLeaderboard, never()).update(anyLong(), anyLong(), anyLong());
+    }
 }
@@ -0,0 +1,297 @@
+package io.hhplus.tdd.point.export;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointHistoryExportLogTest {
+
+    private static final int RECORD_SIZE = PointHistoryExportLog.RECORD_SIZE;
+
+    @TempDir
+    Path dir;
+
+    private PointHistoryExportLog open(int recordsPerSegment, int retentionRecords) throws IOException {
+        return new PointHistoryExportLog(dir,
+                DataSize.ofBytes((long) recordsPerSegment * RECORD_SIZE),
+                DataSize.ofBytes((long) retentionRecords * RECORD_SIZE),
+                Duration.ofDays(7),
+                Duration.ofMinutes(1));
+    }
+
+    private static PointHistory history(long id) {
+        return new PointHistory(id, id % 10, id * 100, TransactionType.CHARGE, 1_000L + id);
+    }
+
+    private static ByteBuffer read(PointHistoryExportLog.Slice slice) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        slice.transferTo(Channels.newChannel(out));
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    @Test
+    void appendAssignsSequentialOffsets() throws IOException {
+        PointHistoryExportLog exportLog = open(100, 1000);
+
+        // PointHistory.id 순서와 무관하게 추가 순서대로 오프셋이 부여됨
+        assertThat(exportLog.append(history(7))).isEqualTo(0L);
+        assertThat(exportLog.append(history(3))).isEqualTo(1L);
+        assertThat(exportLog.nextOffset()).isEqualTo(2L);
+
+        ByteBuffer records = read(exportLog.slice(0, 1024));
+        assertThat(records.remaining()).isEqualTo(2 * RECORD_SIZE);
+        assertThat(records.getLong()).isEqualTo(0L);
+        assertThat(records.getLong()).isEqualTo(7L);
+        assertThat(records.getLong()).isEqualTo(7L);
+        assertThat(records.getLong()).isEqualTo(700L);
+        assertThat(records.getLong()).isEqualTo(1_007L);
+        assertThat(records.getInt()).isEqualTo(TransactionType.CHARGE.ordinal());
+        records.getInt();
+        assertThat(records.getLong()).isEqualTo(1L);
+        assertThat(records.getLong()).isEqualTo(3L);
+        exportLog.close();
+    }
+
+    @Test
+    void sliceStaysInOneSegmentAndResumesFromNextOffset() throws IOException {
+        PointHistoryExportLog exportLog = open(4, 1000);
+        for (long id = 1; id <= 10; id++) {
+            exportLog.append(history(id));
+        }
+
+        // 세그먼트 경계(4)에서 끊기고 다음 오프셋으로 이어서 읽을 수 있음
+        PointHistoryExportLog.Slice first = exportLog.slice(2, 1024);
+        assertThat(first.byteCount()).isEqualTo(2L * RECORD_SIZE);
+        assertThat(first.nextOffset()).isEqualTo(4L);
+
+        PointHistoryExportLog.Slice second = exportLog.slice(first.nextOffset(), 1024);
+        assertThat(read(second).getLong()).isEqualTo(4L);
+        assertThat(second.nextOffset()).isEqualTo(8L);
+
+        // maxBytes 만큼만 읽음
+        assertThat(exportLog.slice(8, RECORD_SIZE).nextOffset()).isEqualTo(9L);
+        // 끝에 도달하면 빈 구간
+        assertThat(exportLog.slice(10, 1024).byteCount()).isZero();
+        exportLog.close();
+    }
+
+    @Test
+    void reopenContinuesFromLastOffset() throws IOException {
+        PointHistoryExportLog exportLog = open(4, 1000);
+        for (long id = 1; id <= 6; id++) {
+            exportLog.append(history(id));
+        }
+        exportLog.close();
+
+        // 마지막 세그먼트 끝에 잘린 레코드가 남아 있어도 버리고 이어서 씀
+        Path lastSegment = dir.resolve(String.format("%020d.log", 4));
+        Files.write(lastSegment, new byte[RECORD_SIZE / 2], StandardOpenOption.APPEND);
+
+        PointHistoryExportLog reopened = open(4, 1000);
+        assertThat(reopened.nextOffset()).isEqualTo(6L);
+        assertThat(reopened.append(history(7))).isEqualTo(6L);
+        assertThat(read(reopened.slice(6, 1024)).getLong(8)).isEqualTo(7L);
+        reopened.close();
+    }
+
+    @Test
+    void retentionDeletesOldestSegments() throws IOException {
+        PointHistoryExportLog exportLog = open(4, 8);
+        for (long id = 1; id <= 13; id++) {
+            exportLog.append(history(id));
+        }
+
+        // 세그먼트 [0,4) [4,8) [8,12) [12,13) 중 크기 한도를 넘는 가장 오래된 세그먼트가 삭제됨
+        assertThat(exportLog.firstOffset()).isEqualTo(4L);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.count()).isEqualTo(3L);
+        }
+        assertThatThrownBy(() -> exportLog.slice(0, 1024))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.EXPORT_OFFSET_OUT_OF_RANGE);
+        exportLog.close();
+    }
+
+    @Test
+    void retainedSegmentIsDeletedAfterSliceIsClosed() throws IOException {
+        PointHistoryExportLog exportLog = open(4, 3);
+        for (long id = 1; id <= 4; id++) {
+            exportLog.append(history(id));
+        }
+        PointHistoryExportLog.Slice slice = exportLog.slice(0, 1024);
+
+        // 읽는 중인 세그먼트가 보관 한도를 넘어도 목록에서만 빠지고 파일은 남아 있음
+        exportLog.append(history(5));
+        assertThat(exportLog.firstOffset()).isEqualTo(4L);
+        Path firstSegment = dir.resolve(String.format("%020d.log", 0));
+        assertThat(read(slice).getLong()).isEqualTo(0L);
+        assertThat(firstSegment).exists();
+
+        slice.close();
+        assertThat(firstSegment).doesNotExist();
+        exportLog.close();
+    }
+
+    @Test
+    void sliceNearRetentionSizeIsFlagged() throws IOException {
+        // 세그먼트 하나만 더 쓰여도 보관 한도를 넘는 세그먼트는 sendfile 대신 transferTo 로 보내도록 표시
+        PointHistoryExportLog exportLog = open(4, 6);
+        for (long id = 1; id <= 4; id++) {
+            exportLog.append(history(id));
+        }
+        try (PointHistoryExportLog.Slice slice = exportLog.slice(0, 1024)) {
+            assertThat(slice.nearRetention()).isTrue();
+        }
+        exportLog.close();
+    }
+
+    @Test
+    void sliceNearRetentionAgeIsFlagged() throws IOException {
+        PointHistoryExportLog exportLog = open(4, 1000);
+        for (long id = 1; id <= 4; id++) {
+            exportLog.append(history(id));
+        }
+        try (PointHistoryExportLog.Slice slice = exportLog.slice(0, 1024)) {
+            assertThat(slice.nearRetention()).isFalse();
+        }
+
+        // 보관 기간 확인이 한 번 더 돌기 전에 기간이 지나는 세그먼트도 표시
+        Path firstSegment = dir.resolve(String.format("%020d.log", 0));
+        Files.setLastModifiedTime(firstSegment, FileTime.from(Instant.now().minus(Duration.ofDays(7))));
+        try (PointHistoryExportLog.Slice slice = exportLog.slice(0, 1024)) {
+            assertThat(slice.nearRetention()).isTrue();
+        }
+        exportLog.close();
+    }
+
+    @Test
+    void enqueuedHistoriesAreWrittenInQueueOrder() throws Exception {
+        // 여러 스레드가 넣어도 스레드마다 넣은 순서대로 오프셋이 부여되고, 닫을 때 남은 히스토리까지 모두 씀
+        PointHistoryExportLog exportLog = open(1000, 100_000);
+        exportLog.start();
+        int threads = 4;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long userId = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    exportLog.enqueue(new PointHistory(i, userId, i, TransactionType.CHARGE, i));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        exportLog.close();
+
+        PointHistoryExportLog reopened = open(1000, 100_000);
+        assertThat(reopened.nextOffset()).isEqualTo((long) threads * perThread);
+        long[] lastAmount = {-1, -1, -1, -1};
+        long offset = 0;
+        while (offset < reopened.nextOffset()) {
+            try (PointHistoryExportLog.Slice slice = reopened.slice(offset, 1024 * RECORD_SIZE)) {
+                ByteBuffer records = read(slice);
+                while (records.hasRemaining()) {
+                    assertThat(records.getLong()).isEqualTo(offset++);
+                    records.getLong();
+                    int userId = (int) records.getLong();
+                    long amount = records.getLong();
+                    assertThat(amount).isEqualTo(lastAmount[userId] + 1);
+                    lastAmount[userId] = amount;
+                    records.position(records.position() + 16);
+                }
+            }
+        }
+        reopened.close();
+    }
+
+    @Test
+    void enqueueAfterCloseIsCountedAsLost() throws IOException {
+        PointHistoryExportLog exportLog = open(4, 1000);
+        exportLog.start();
+        exportLog.close();
+
+        exportLog.enqueue(history(1));
+
+        assertThat(exportLog.isFailed()).isTrue();
+    }
+
+    @Test
+    void retentionIsEnforcedWithoutAppends() throws IOException {
+        PointHistoryExportLog exportLog = open(4, 1000);
+        for (long id = 1; id <= 5; id++) {
+            exportLog.append(history(id));
+        }
+        Path firstSegment = dir.resolve(String.format("%020d.log", 0));
+        Files.setLastModifiedTime(firstSegment, FileTime.from(Instant.now().minus(Duration.ofDays(8))));
+
+        // 새 세그먼트로 넘어가지 않아도 주기적인 확인에서 보관 기간이 지난 세그먼트를 지움
+        exportLog.enforceRetention();
+
+        assertThat(exportLog.firstOffset()).isEqualTo(4L);
+        assertThat(firstSegment).doesNotExist();
+        exportLog.close();
+    }
+
+    @Test
+    void appendFailureIsReportedToConsumers() throws IOException {
+        Path logDir = dir.resolve("log");
+        PointHistoryExportLog exportLog = new PointHistoryExportLog(logDir,
+                DataSize.ofBytes(RECORD_SIZE), DataSize.ofMegabytes(1), Duration.ofDays(7), Duration.ofMinutes(1));
+        exportLog.append(history(1));
+        // 다음 세그먼트 파일을 만들 수 없도록 디렉터리를 지움
+        try (Stream<Path> files = Files.list(logDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(logDir);
+
+        assertThat(exportLog.append(history(2))).isEqualTo(-1L);
+        assertThat(exportLog.append(history(3))).isEqualTo(-1L);
+
+        // 쓰인 레코드까지 읽은 소비자는 빈 구간 대신 실패 상태를 받음
+        assertThat(exportLog.isFailed()).isTrue();
+        assertThatThrownBy(() -> exportLog.slice(1, 1024))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.EXPORT_LOG_FAILED);
+    }
+
+    @Test
+    void sliceBeyondNextOffsetIsRejected() throws IOException {
+        PointHistoryExportLog exportLog = open(4, 1000);
+        exportLog.append(history(1));
+
+        assertThatThrownBy(() -> exportLog.slice(2, 1024))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.EXPORT_OFFSET_OUT_OF_RANGE);
+        exportLog.close();
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.point.hotkey;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotKeyDetectorTest {
+
+    // 10초 window, 2초 구간 5개, 초당 20건 이상이면 heavy hitter
+    private final HotKeyDetector detector = new HotKeyDetector(Duration.ofSeconds(10), 5, 1024, 4, 4, 20);
+
+    @Test
+    void estimateNeverUnderestimates() {
+        // 다른 사용자 요청이 섞여도 추정치는 실제 요청률 이상
+        long now = 1_000_000L;
+        for (long userId = 1; userId <= 5_000; userId++) {
+            detector.record(userId, now);
+        }
+        for (int i = 0; i < 300; i++) {
+            detector.record(7L, now);
+        }
+
+        assertThat(detector.estimateRate(7L, now)).isGreaterThanOrEqualTo(30L);
+        assertThat(detector.estimateRate(123_456L, now)).isLessThan(20L);
+    }
+
+    @Test
+    void countsExpireAfterWindow() {
+        long now = 1_000_000L;
+        for (int i = 0; i < 500; i++) {
+            detector.record(1L, now);
+        }
+        assertThat(detector.estimateRate(1L, now)).isEqualTo(50L);
+
+        // window 가 지나면 이전 구간은 추정치에서 빠지고, 구간을 다시 쓸 때 비워짐
+        long later = now + Duration.ofSeconds(10).toMillis();
+        assertThat(detector.estimateRate(1L, later)).isZero();
+        detector.record(1L, later);
+        assertThat(detector.estimateRate(1L, later)).isZero();
+    }
+
+    @Test
+    void heavyHittersKeepHottestUsers() {
+        long now = 1_000_000L;
+        for (long userId = 1; userId <= 6; userId++) {
+            for (int i = 0; i < 200 + userId * 100; i++) {
+                detector.record(userId, now);
+            }
+        }
+        detector.record(100L, now);
+
+        // 목록 크기(4)만큼 요청률이 높은 순서로 유지되고, 임계치 아래 사용자는 포함되지 않음
+        assertThat(detector.heavyHitters())
+                .extracting(HotKeyStatus.HotKey::userId)
+                .containsExactly(6L, 5L, 4L, 3L);
+    }
+}
@@ -0,0 +1,319 @@
+package io.hhplus.tdd.point.hotkey;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.RequestDeadline;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.PointException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HotKeyLanesTest {
+
+    @Mock
+    private PointService pointService;
+
+    // 10초 window 기준 초당 50건 이상이면 승격, 20건 미만이면 강등
+    private final HotKeyDetector detector = new HotKeyDetector(Duration.ofSeconds(10), 5, 1024, 4, 8, 20);
+
+    private HotKeyLanes lanes(int queueCapacity, int batchSize) {
+        return lanes(queueCapacity, batchSize, 8);
+    }
+
+    private HotKeyLanes lanes(int queueCapacity, int batchSize, int maxSyncWaiters) {
+        return new HotKeyLanes(pointService, detector, true, 50, 20, 4, queueCapacity, batchSize, maxSyncWaiters);
+    }
+
+    @Test
+    void promoteOnlyAboveThreshold() {
+        HotKeyLanes hotKeyLanes = lanes(16, 4);
+        long userId = 1L;
+
+        HotKeyLanes.Lane lane = null;
+        int requests = 0;
+        while (lane == null && requests < 1_000) {
+            lane = hotKeyLanes.route(userId);
+            requests++;
+        }
+
+        // 10초 window 에 500건 = 초당 50건에 도달하는 순간 승격
+        assertThat(lane).isNotNull();
+        assertThat(requests).isEqualTo(500);
+        assertThat(hotKeyLanes.route(2L)).isNull();
+        assertThat(hotKeyLanes.status().promotions()).isEqualTo(1L);
+        assertThat(hotKeyLanes.status().lanes()).extracting(HotKeyStatus.LaneStatus::userId).containsExactly(userId);
+    }
+
+    @Test
+    void demoteWhenCooled() {
+        HotKeyLanes hotKeyLanes = lanes(16, 4);
+        long userId = 1L;
+        for (int i = 0; i < 500; i++) {
+            hotKeyLanes.route(userId);
+        }
+        assertThat(hotKeyLanes.status().lanes()).hasSize(1);
+
+        hotKeyLanes.demoteCooled(System.currentTimeMillis() + Duration.ofSeconds(10).toMillis());
+
+        assertThat(hotKeyLanes.status().lanes()).isEmpty();
+        assertThat(hotKeyLanes.status().demotions()).isEqualTo(1L);
+    }
+
+    @Test
+    void laneProcessesRequestsInBatches() throws InterruptedException {
+        // 첫 배치가 처리되는 동안 쌓인 요청은 다음 배치로 한 번에 처리됨
+        HotKeyLanes hotKeyLanes = lanes(64, 16);
+        long userId = 1L;
+        HotKeyLanes.Lane lane = promote(hotKeyLanes, userId);
+
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<PointCommand> commands = invocation.getArgument(1);
+            batchSizes.add(commands.size());
+            firstBatchStarted.countDown();
+            releaseFirstBatch.await();
+            commands.forEach(command -> command.result()
+                    .complete(new UserPoint(userId, command.amount(), System.currentTimeMillis())));
+            return null;
+        }).when(pointService).processBatch(eq(userId), anyList());
+
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        futures.add(lane.charge(1L, RequestDeadline.none()));
+        firstBatchStarted.await();
+        for (long amount = 2; amount <= 11; amount++) {
+            futures.add(lane.charge(amount, RequestDeadline.none()));
+        }
+        releaseFirstBatch.countDown();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        assertThat(batchSizes).containsExactly(1, 10);
+        assertThat(futures.get(10).join().point()).isEqualTo(11L);
+    }
+
+    @Test
+    void fullLaneRejectsWithServerBusy() throws InterruptedException {
+        HotKeyLanes hotKeyLanes = lanes(1, 1);
+        long userId = 1L;
+        HotKeyLanes.Lane lane = promote(hotKeyLanes, userId);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(pointService).processBatch(eq(userId), anyList());
+
+        lane.charge(1L, RequestDeadline.none());
+        started.await();
+        lane.charge(2L, RequestDeadline.none());
+
+        // 처리 중 1건 + 대기열 1건이 가득 찬 상태
+        assertThatThrownBy(() -> lane.charge(3L, RequestDeadline.none()).join())
+                .hasCauseInstanceOf(PointException.class);
+        assertThat(hotKeyLanes.status().rejected()).isEqualTo(1L);
+        release.countDown();
+    }
+
+    @Test
+    void waitingRequestIsCancelledAtDeadline() {
+        // 처리가 시작되지 않은 채 마감 시간이 지나면 취소되고 REQUEST_TIMEOUT
+        HotKeyLanes hotKeyLanes = lanes(16, 4);
+        long userId = 1L;
+        HotKeyLanes.Lane lane = promote(hotKeyLanes, userId);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(pointService).processBatch(eq(userId), anyList());
+
+        lane.charge(1L, RequestDeadline.none());
+
+        assertThatThrownBy(() -> lane.chargeAndWait(2L, RequestDeadline.after(50)))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.REQUEST_TIMEOUT);
+        release.countDown();
+    }
+
+    @Test
+    void concurrentPromotionsDoNotExceedMaxLanes() throws InterruptedException {
+        // 여러 사용자가 동시에 승격되어도 레인 수는 maxLanes(4)를 넘지 않음
+        HotKeyLanes hotKeyLanes = lanes(16, 4);
+        int users = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        CountDownLatch start = new CountDownLatch(1);
+        for (long userId = 1; userId <= users; userId++) {
+            long id = userId;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    hotKeyLanes.route(id);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(hotKeyLanes.status().lanes()).hasSize(4);
+        assertThat(hotKeyLanes.status().promotions()).isEqualTo(4L);
+        hotKeyLanes.stop();
+    }
+
+    @Test
+    void demotedLaneFinishesQueuedRequests() throws InterruptedException {
+        // 강등 전에 대기열에 들어간 요청은 처리되고, 강등 뒤에 들어온 요청도 호출한 스레드가 아닌 레인 스레드에서 처리됨
+        HotKeyLanes hotKeyLanes = lanes(16, 4);
+        long userId = 1L;
+        HotKeyLanes.Lane lane = promote(hotKeyLanes, userId);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            started.countDown();
+            release.await();
+            List<PointCommand> commands = invocation.getArgument(1);
+            commands.forEach(command -> command.result()
+                    .complete(new UserPoint(userId, command.amount(), System.currentTimeMillis())));
+            return null;
+        }).when(pointService).processBatch(eq(userId), anyList());
+
+        CompletableFuture<UserPoint> running = lane.charge(1L, RequestDeadline.none());
+        started.await();
+        CompletableFuture<UserPoint> queued = lane.charge(2L, RequestDeadline.none());
+        hotKeyLanes.demoteCooled(System.currentTimeMillis() + Duration.ofSeconds(10).toMillis());
+        release.countDown();
+
+        assertThat(running.join().point()).isEqualTo(1L);
+        assertThat(queued.join().point()).isEqualTo(2L);
+        assertThat(lane.charge(3L, RequestDeadline.none()).join().point()).isEqualTo(3L);
+        verify(pointService, times(3)).processBatch(eq(userId), anyList());
+        assertThat(threads).allSatisfy(name -> assertThat(name).startsWith("point-lane-"));
+    }
+
+    @Test
+    void submitRacingDemotionIsNotRejected() throws Exception {
+        // 레인을 받아 간 직후 강등되어도 요청은 SERVER_BUSY 없이 처리됨
+        HotKeyLanes hotKeyLanes = lanes(16, 4);
+        long userId = 1L;
+        doAnswer(invocation -> {
+            List<PointCommand> commands = invocation.getArgument(1);
+            commands.forEach(command -> command.result()
+                    .complete(new UserPoint(userId, command.amount(), System.currentTimeMillis())));
+            return null;
+        }).when(pointService).processBatch(eq(userId), anyList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 200; i++) {
+            HotKeyLanes.Lane lane = promote(hotKeyLanes, userId);
+            long cooledMillis = System.currentTimeMillis() + Duration.ofSeconds(10).toMillis();
+            CountDownLatch start = new CountDownLatch(1);
+            long amount = i + 1;
+            Future<CompletableFuture<UserPoint>> submitted = executor.submit(() -> {
+                start.await();
+                return lane.charge(amount, RequestDeadline.none());
+            });
+            Future<?> demoted = executor.submit(() -> {
+                start.await();
+                hotKeyLanes.demoteCooled(cooledMillis);
+                return null;
+            });
+            start.countDown();
+            demoted.get(5, TimeUnit.SECONDS);
+
+            assertThat(submitted.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS).point()).isEqualTo(amount);
+        }
+        assertThat(hotKeyLanes.status().rejected()).isZero();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        hotKeyLanes.stop();
+    }
+
+    @Test
+    void submitAfterStopIsProcessedInsteadOfRejected() {
+        // 종료 뒤라 레인 스레드를 쓸 수 없어도 대기열에 넣은 요청은 SERVER_BUSY 대신 호출한 스레드에서 처리됨
+        HotKeyLanes hotKeyLanes = lanes(16, 4);
+        long userId = 1L;
+        HotKeyLanes.Lane lane = promote(hotKeyLanes, userId);
+        doAnswer(invocation -> {
+            List<PointCommand> commands = invocation.getArgument(1);
+            commands.forEach(command -> command.result()
+                    .complete(new UserPoint(userId, command.amount(), System.currentTimeMillis())));
+            return null;
+        }).when(pointService).processBatch(eq(userId), anyList());
+
+        hotKeyLanes.stop();
+
+        assertThat(lane.charge(5L, RequestDeadline.none()).join().point()).isEqualTo(5L);
+    }
+
+    @Test
+    void syncWaitersOverLimitAreRejected() throws InterruptedException {
+        // 동기 API 로 기다리는 스레드가 한도(1)에 차면 대기열에 넣지 않고 바로 SERVER_BUSY
+        HotKeyLanes hotKeyLanes = lanes(16, 4, 1);
+        long userId = 1L;
+        HotKeyLanes.Lane lane = promote(hotKeyLanes, userId);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            List<PointCommand> commands = invocation.getArgument(1);
+            commands.forEach(command -> command.result()
+                    .complete(new UserPoint(userId, command.amount(), System.currentTimeMillis())));
+            return null;
+        }).when(pointService).processBatch(eq(userId), anyList());
+
+        CompletableFuture<UserPoint> waiting = CompletableFuture.supplyAsync(
+                () -> lane.chargeAndWait(1L, RequestDeadline.none()));
+        started.await();
+
+        assertThatThrownBy(() -> lane.chargeAndWait(2L, RequestDeadline.none()))
+                .isInstanceOf(PointException.class)
+                .hasFieldOrPropertyWithValue("errorCode", PointException.ErrorCode.SERVER_BUSY);
+        release.countDown();
+        assertThat(waiting.join().point()).isEqualTo(1L);
+        // 기다리던 요청이 끝나면 다시 받음
+        assertThat(lane.chargeAndWait(3L, RequestDeadline.none()).point()).isEqualTo(3L);
+    }
+
+    private static HotKeyLanes.Lane promote(HotKeyLanes hotKeyLanes, long userId) {
+        HotKeyLanes.Lane lane = null;
+        while (lane == null) {
+            lane = hotKeyLanes.route(userId);
+        }
+        return lane;
+    }
+}
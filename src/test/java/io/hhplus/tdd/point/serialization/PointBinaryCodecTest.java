@@ -0,0 +1,53 @@
+package io.hhplus.tdd.point.serialization;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointBinaryCodecTest {
+
+    @Test
+    void userPointRoundTrip() throws IOException {
+        UserPoint userPoint = new UserPoint(1L, 1500L, System.currentTimeMillis());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PointBinaryCodec.writeUserPoint(userPoint, out);
+
+        assertThat(PointBinaryCodec.readUserPoint(out.toByteArray())).isEqualTo(userPoint);
+    }
+
+    @Test
+    void historiesRoundTrip() throws IOException {
+        // 버퍼 크기보다 큰 본문도 나눠서 쓰고 그대로 복원되어야 함
+        long now = System.currentTimeMillis();
+        List<PointHistory> histories = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            histories.add(new PointHistory(i + 1, i % 7, (i * 31L) % 10_000, type, now + i));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PointBinaryCodec.writeHistories(histories, out);
+
+        assertThat(PointBinaryCodec.readHistories(out.toByteArray())).isEqualTo(histories);
+        // delta 인코딩으로 행당 long 5개(40바이트)보다 훨씬 작아야 함
+        assertThat(out.size()).isLessThan(histories.size() * 10);
+    }
+
+    @Test
+    void emptyHistories() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PointBinaryCodec.writeHistories(List.of(), out);
+
+        assertThat(PointBinaryCodec.readHistories(out.toByteArray())).isEmpty();
+    }
+}